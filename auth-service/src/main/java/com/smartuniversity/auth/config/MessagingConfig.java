@@ -0,0 +1,92 @@
+package com.smartuniversity.auth.config;
+
+import com.smartuniversity.auth.service.UserCacheEvictionNotifier;
+import com.smartuniversity.common.events.UserChangedEvent;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ configuration for the Auth service.
+ * Declares the shared topic exchange and JSON message converter, and the
+ * per-instance queue on which every Auth instance receives user cache evictions.
+ */
+@Configuration
+public class MessagingConfig {
+
+    public static final String EXCHANGE_NAME = "university.events";
+    public static final String TOKEN_REVOKED_ROUTING_KEY = "auth.token.revoked";
+    public static final String USER_CHANGED_ROUTING_KEY = "auth.user.changed";
+
+    @Bean
+    public TopicExchange universityExchange() {
+        return new TopicExchange(EXCHANGE_NAME, true, false);
+    }
+
+    /**
+     * Every instance must see every eviction, so each one consumes from its own
+     * exclusive, auto-deleted queue.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "security.user-cache.eviction-events", name = "enabled",
+            havingValue = "true", matchIfMissing = true)
+    public Queue userChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.user-cache.eviction-events", name = "enabled",
+            havingValue = "true", matchIfMissing = true)
+    public Binding userChangedBinding(Queue userChangedQueue, TopicExchange universityExchange) {
+        return BindingBuilder.bind(userChangedQueue)
+                .to(universityExchange)
+                .with(USER_CHANGED_ROUTING_KEY);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.user-cache.eviction-events", name = "enabled",
+            havingValue = "true", matchIfMissing = true)
+    public UserChangedListener userChangedListener(UserCacheEvictionNotifier evictionNotifier) {
+        return new UserChangedListener(evictionNotifier);
+    }
+
+    @Bean
+    public MessageConverter jacksonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+                                         MessageConverter jacksonMessageConverter) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(jacksonMessageConverter);
+        return template;
+    }
+
+    /**
+     * Feeds evictions published by any Auth instance into the local cache.
+     */
+    public static class UserChangedListener {
+
+        private final UserCacheEvictionNotifier evictionNotifier;
+
+        public UserChangedListener(UserCacheEvictionNotifier evictionNotifier) {
+            this.evictionNotifier = evictionNotifier;
+        }
+
+        @RabbitListener(queues = "#{userChangedQueue.name}")
+        public void onUserChanged(UserChangedEvent event) {
+            evictionNotifier.onUserChanged(event);
+        }
+    }
+}
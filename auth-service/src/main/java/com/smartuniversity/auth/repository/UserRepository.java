@@ -2,7 +2,11 @@ package com.smartuniversity.auth.repository;
 
 import com.smartuniversity.auth.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +15,11 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByUsernameAndTenantId(String username, String tenantId);
 
     Optional<User> findByUsernameAndTenantId(String username, String tenantId);
+
+    /**
+     * Returns which of the given usernames are already taken in the tenant, in one query.
+     */
+    @Query("select u.username from User u where u.tenantId = :tenantId and u.username in :usernames")
+    List<String> findExistingUsernames(@Param("tenantId") String tenantId,
+                                       @Param("usernames") Collection<String> usernames);
 }
\ No newline at end of file
@@ -6,56 +6,76 @@ import com.smartuniversity.auth.repository.UserRepository;
 import com.smartuniversity.auth.web.dto.AuthResponse;
 import com.smartuniversity.auth.web.dto.LoginRequest;
 import com.smartuniversity.auth.web.dto.RegisterRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Registration and login. Password hashing runs on the {@link PasswordHashingService}
+ * pool, so both operations complete asynchronously and release the request thread
+ * while BCrypt is running. Saving a registered user is blocking JDBC work and is
+ * handed on to the application task executor, so it never holds a hashing thread.
+ */
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final Executor applicationTaskExecutor;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
-                       JwtService jwtService) {
+                       UserLookupCache userLookupCache,
+                       PasswordHashingService passwordHashingService,
+                       JwtService jwtService,
+                       @Qualifier("applicationTaskExecutor") Executor applicationTaskExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.userLookupCache = userLookupCache;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
+        this.applicationTaskExecutor = applicationTaskExecutor;
     }
 
-    public AuthResponse register(RegisterRequest request) {
-        boolean exists = userRepository.existsByUsernameAndTenantId(
-                request.getUsername(), request.getTenantId());
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
+        boolean exists = userLookupCache.exists(request.getTenantId(), request.getUsername());
         if (exists) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists in this tenant");
         }
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        // SECURITY FIX: Always assign STUDENT role on registration
-        // Admin/Teacher roles must be granted by an administrator
-        user.setRole(Role.STUDENT);
-        user.setTenantId(request.getTenantId());
-
-        User saved = userRepository.save(user);
-        String token = jwtService.generateToken(saved);
-        return new AuthResponse(token);
+        return passwordHashingService.encode(request.getPassword())
+                .thenApplyAsync(passwordHash -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setPasswordHash(passwordHash);
+                    // SECURITY FIX: Always assign STUDENT role on registration
+                    // Admin/Teacher roles must be granted by an administrator
+                    user.setRole(Role.STUDENT);
+                    user.setTenantId(request.getTenantId());
+
+                    User saved = userRepository.save(user);
+                    userLookupCache.put(saved);
+                    String token = jwtService.generateToken(saved);
+                    return new AuthResponse(token);
+                }, applicationTaskExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository
-                .findByUsernameAndTenantId(request.getUsername(), request.getTenantId())
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        UserLookupCache.CachedUser user = userLookupCache
+                .find(request.getTenantId(), request.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
-        }
-
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token);
+        return passwordHashingService.matches(request.getPassword(), user.passwordHash())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+                    }
+                    String token = jwtService.generateToken(user.id(), user.role(), user.tenantId());
+                    return new AuthResponse(token);
+                });
     }
 }
@@ -1,28 +1,60 @@
 package com.smartuniversity.auth.service;
 
+import com.smartuniversity.auth.domain.Role;
 import com.smartuniversity.auth.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
-import java.time.Instant;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service responsible for generating JWT tokens for authenticated users.
- * Tokens contain subject (user id), role and tenant identifier.
+ * Tokens contain subject (user id), role, tenant identifier and a unique token
+ * id ({@code jti}) by which a single token can be revoked. Besides the
+ * whole-second {@code iat}, {@code iat_ms} carries the issue time in
+ * milliseconds, so that a user-wide revocation can tell a token issued right
+ * after it from one issued earlier in the same second.
+ *
+ * Tokens are HS256 compact JWS with the same header and claims the jjwt
+ * builder produced, plus {@code iat_ms}, so any jjwt parser accepts them, but they are minted
+ * without per-call maps, builders or {@link Mac} instances: the JOSE header is
+ * encoded once, and each thread reuses one initialised {@code Mac} and the
+ * buffers into which the claims JSON, its Base64URL form and the signature are
+ * written directly.
  */
 @Component
 public class JwtService {
 
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Base64URL of {@code {"alg":"HS256"}} followed by the separator.
+     */
+    private static final byte[] ENCODED_HEADER =
+            (base64Url("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII)) + ".")
+                    .getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] BASE64_URL_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
     private final Key signingKey;
+    private final JwtParser parser;
     private final long expirationMs;
+    private final ThreadLocal<TokenWriter> writers;
 
     public JwtService(
             @Value("${security.jwt.secret}") String secret,
@@ -30,23 +62,252 @@ public class JwtService {
 
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
         this.expirationMs = expirationMs;
+        this.writers = ThreadLocal.withInitial(() -> new TokenWriter(signingKey));
+        // Fail at startup rather than on the first login if the key is unusable.
+        writers.get();
     }
 
     public String generateToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        claims.put("tenant", user.getTenantId());
-
-        Instant now = Instant.now();
-        Instant expiry = now.plusMillis(expirationMs);
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(user.getId().toString())
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiry))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
+        return generateToken(user.getId(), user.getRole(), user.getTenantId());
+    }
+
+    public String generateToken(UUID userId, Role role, String tenantId) {
+        long nowMillis = System.currentTimeMillis();
+        // jjwt writes dates as whole seconds since the epoch.
+        long issuedAt = nowMillis / 1000;
+        long issuedAtMillis = nowMillis;
+        long expiresAt = (nowMillis + expirationMs) / 1000;
+        // The id only has to be unique, not unpredictable: the signature already
+        // prevents forgery, so ThreadLocalRandom spares a SecureRandom call per token.
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID tokenId = new UUID(
+                random.nextLong() & ~0xf000L | 0x4000L,
+                random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L);
+        return writers.get().write(userId, role, tenantId, tokenId, issuedAt, issuedAtMillis, expiresAt);
+    }
+
+    /**
+     * Verifies a token minted by this service and returns its claims.
+     */
+    public Claims parseToken(String token) throws JwtException {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Per-thread minting state. Not thread-safe by design.
+     */
+    private static final class TokenWriter {
+
+        private static final int SIGNATURE_LENGTH = 32;
+        private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] claims = new byte[256];
+        private byte[] token = new byte[512];
+        private int claimsLength;
+
+        TokenWriter(Key signingKey) {
+            try {
+                this.mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(signingKey);
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Cannot initialise " + MAC_ALGORITHM, ex);
+            }
+        }
+
+        String write(UUID userId, Role role, String tenantId, UUID tokenId, long issuedAt, long issuedAtMillis,
+                     long expiresAt) {
+            claimsLength = 0;
+            ascii("{\"role\":\"");
+            ascii(role.name());
+            ascii("\",\"tenant\":");
+            jsonString(tenantId);
+            ascii(",\"sub\":\"");
+            uuid(userId);
+            ascii("\",\"jti\":\"");
+            uuid(tokenId);
+            ascii("\",\"iat\":");
+            number(issuedAt);
+            ascii(",\"iat_ms\":");
+            number(issuedAtMillis);
+            ascii(",\"exp\":");
+            number(expiresAt);
+            claims((byte) '}');
+
+            int encodedClaims = (claimsLength + 2) / 3 * 4;
+            int encodedSignature = (SIGNATURE_LENGTH * 4 + 2) / 3;
+            int capacity = ENCODED_HEADER.length + encodedClaims + 1 + encodedSignature;
+            if (token.length < capacity) {
+                token = new byte[Math.max(capacity, token.length * 2)];
+            }
+
+            System.arraycopy(ENCODED_HEADER, 0, token, 0, ENCODED_HEADER.length);
+            int position = encode(claims, claimsLength, token, ENCODED_HEADER.length);
+
+            mac.update(token, 0, position);
+            try {
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            token[position++] = '.';
+            position = encode(signature, SIGNATURE_LENGTH, token, position);
+            return new String(token, 0, position, StandardCharsets.ISO_8859_1);
+        }
+
+        private void ascii(String value) {
+            ensureClaimsCapacity(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                claims[claimsLength++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void claims(byte value) {
+            ensureClaimsCapacity(1);
+            claims[claimsLength++] = value;
+        }
+
+        /**
+         * Writes a non-negative decimal number.
+         */
+        private void number(long value) {
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            ensureClaimsCapacity(digits);
+            long rest = value;
+            for (int i = claimsLength + digits - 1; i >= claimsLength; i--) {
+                claims[i] = (byte) ('0' + rest % 10);
+                rest /= 10;
+            }
+            claimsLength += digits;
+        }
+
+        /**
+         * Writes the canonical lower-case form of {@link UUID#toString()}.
+         */
+        private void uuid(UUID value) {
+            long most = value.getMostSignificantBits();
+            long least = value.getLeastSignificantBits();
+            hex(most >>> 32, 8);
+            claims((byte) '-');
+            hex(most >>> 16, 4);
+            claims((byte) '-');
+            hex(most, 4);
+            claims((byte) '-');
+            hex(least >>> 48, 4);
+            claims((byte) '-');
+            hex(least, 12);
+        }
+
+        private void hex(long value, int nibbles) {
+            ensureClaimsCapacity(nibbles);
+            for (int i = nibbles - 1; i >= 0; i--) {
+                claims[claimsLength++] = HEX_DIGITS[(int) (value >>> (i * 4)) & 0xf];
+            }
+        }
+
+        /**
+         * Writes a JSON string literal, escaping quotes, backslashes and control characters.
+         */
+        private void jsonString(String value) {
+            claims((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    claims((byte) '\\');
+                    claims((byte) c);
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x80) {
+                    claims((byte) c);
+                } else {
+                    // Rare in tenant ids; hand the remainder to the JDK's UTF-8 encoder.
+                    utf8(value, i);
+                    break;
+                }
+            }
+            claims((byte) '"');
+        }
+
+        private void utf8(String value, int from) {
+            StringBuilder rest = new StringBuilder(value.length() - from);
+            for (int i = from; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    rest.append('\\').append(c);
+                } else if (c < 0x20) {
+                    rest.append(controlEscape(c));
+                } else {
+                    rest.append(c);
+                }
+            }
+            byte[] bytes = rest.toString().getBytes(StandardCharsets.UTF_8);
+            ensureClaimsCapacity(bytes.length);
+            System.arraycopy(bytes, 0, claims, claimsLength, bytes.length);
+            claimsLength += bytes.length;
+        }
+
+        private void escapeControl(char c) {
+            ascii(controlEscape(c));
+        }
+
+        private static String controlEscape(char c) {
+            return switch (c) {
+                case '\b' -> "\\b";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\f' -> "\\f";
+                case '\r' -> "\\r";
+                default -> String.format("\\u%04X", (int) c);
+            };
+        }
+
+        private void ensureClaimsCapacity(int additional) {
+            if (claimsLength + additional > claims.length) {
+                claims = Arrays.copyOf(claims, Math.max(claims.length * 2, claimsLength + additional));
+            }
+        }
+
+        /**
+         * Base64URL without padding of {@code source[0, length)} into {@code target}
+         * at {@code offset}; returns the position after the last written byte.
+         */
+        private static int encode(byte[] source, int length, byte[] target, int offset) {
+            int position = offset;
+            int i = 0;
+            for (; i + 2 < length; i += 3) {
+                int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8 | (source[i + 2] & 0xff);
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[bits & 0x3f];
+            }
+            int remaining = length - i;
+            if (remaining == 1) {
+                int bits = (source[i] & 0xff) << 16;
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3f];
+            } else if (remaining == 2) {
+                int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8;
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3f];
+                target[position++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3f];
+            }
+            return position;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.smartuniversity.auth.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated pool sized to the CPU
+ * count, so that a login storm cannot occupy every servlet thread with
+ * CPU-bound work. Work beyond the bounded queue is rejected with 503 instead
+ * of piling up. Bulk imports are limited to {@code bulk-threads} of the pool's
+ * threads across all imports, so logins and registrations never queue behind a
+ * whole pool of import work.
+ *
+ * The pool is exported as {@code auth.password.hashing} executor metrics
+ * (queue depth, active threads) and each hash is timed as
+ * {@code auth.password.hash}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String POOL_NAME = "auth.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int bulkThreads;
+    private final Semaphore bulkSlices;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:500}") int queueCapacity,
+                                  @Value("${security.password.hashing.bulk-threads:0}") int bulkThreads,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkThreads = bulkThreads > 0 ? Math.min(bulkThreads, poolSize) : Math.max(1, poolSize / 2);
+        this.bulkSlices = new Semaphore(this.bulkThreads);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, POOL_NAME);
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash)));
+    }
+
+    /**
+     * Hashes a batch of passwords on at most {@code bulk-threads} pool threads.
+     * The batch is split into one slice per thread rather than one task per
+     * password, so a large import occupies only a few queue slots, and the
+     * caller waits for free bulk slots first, so concurrent imports share the
+     * same cap and the rest of the pool stays free for logins.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+        int slices = Math.min(bulkThreads, rawPasswords.size());
+        bulkSlices.acquireUninterruptibly(slices);
+        try {
+            List<CompletableFuture<List<String>>> futures = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) {
+                List<String> slice = rawPasswords.subList(
+                        i * rawPasswords.size() / slices, (i + 1) * rawPasswords.size() / slices);
+                futures.add(submit(() -> slice.stream()
+                        .map(raw -> encodeTimer.record(() -> passwordEncoder.encode(raw)))
+                        .toList()));
+            }
+
+            List<String> hashes = new ArrayList<>(rawPasswords.size());
+            for (CompletableFuture<List<String>> future : futures) {
+                hashes.addAll(future.join());
+            }
+            return hashes;
+        } finally {
+            bulkSlices.release(slices);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many authentication requests, please retry shortly");
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
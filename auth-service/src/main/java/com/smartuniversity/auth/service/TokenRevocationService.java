@@ -0,0 +1,82 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.config.MessagingConfig;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revokes access tokens before they expire by publishing {@link TokenRevokedEvent}s.
+ * Tokens are stateless, so nothing is stored here: the gateway keeps the
+ * revocations in memory and rejects matching tokens.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    public TokenRevocationService(JwtService jwtService,
+                                  UserRepository userRepository,
+                                  RabbitTemplate rabbitTemplate) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Revokes a single token, typically the caller's own on logout.
+     */
+    public void revokeToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token cannot be revoked individually");
+        }
+
+        TokenRevokedEvent event = new TokenRevokedEvent(
+                claims.getId(),
+                UUID.fromString(claims.getSubject()),
+                claims.get("tenant", String.class),
+                null,
+                claims.getExpiration().toInstant());
+        publish(event);
+    }
+
+    /**
+     * Revokes every token issued to a user up to now, e.g. after a password
+     * reset or when an account is compromised.
+     */
+    public void revokeUserTokens(UUID userId, String tenantId) {
+        User user = userRepository.findById(userId)
+                .filter(candidate -> candidate.getTenantId().equals(tenantId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        Instant now = Instant.now();
+        TokenRevokedEvent event = new TokenRevokedEvent(
+                null,
+                user.getId(),
+                user.getTenantId(),
+                now,
+                now.plusMillis(jwtService.getExpirationMs()));
+        publish(event);
+    }
+
+    private void publish(TokenRevokedEvent event) {
+        rabbitTemplate.convertAndSend(MessagingConfig.EXCHANGE_NAME, MessagingConfig.TOKEN_REVOKED_ROUTING_KEY, event);
+    }
+}
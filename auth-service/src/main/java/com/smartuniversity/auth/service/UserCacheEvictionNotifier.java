@@ -0,0 +1,75 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.config.MessagingConfig;
+import com.smartuniversity.common.events.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a changed user from the {@link UserLookupCache} of this instance right
+ * away and from every Auth instance, this one included, through a
+ * {@link UserChangedEvent} once the change has committed. The second eviction
+ * also clears an entry reloaded here before the commit.
+ *
+ * A lost event leaves other instances on the old entry until
+ * {@code security.user-cache.ttl}, which is why that TTL is kept short.
+ */
+@Component
+public class UserCacheEvictionNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheEvictionNotifier.class);
+
+    private final UserLookupCache userLookupCache;
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean eventsEnabled;
+
+    public UserCacheEvictionNotifier(UserLookupCache userLookupCache,
+                                     RabbitTemplate rabbitTemplate,
+                                     @Value("${security.user-cache.eviction-events.enabled:true}") boolean eventsEnabled) {
+        this.userLookupCache = userLookupCache;
+        this.rabbitTemplate = rabbitTemplate;
+        this.eventsEnabled = eventsEnabled;
+    }
+
+    public void userChanged(String tenantId, String username) {
+        userLookupCache.evict(tenantId, username);
+        if (!eventsEnabled) {
+            return;
+        }
+
+        UserChangedEvent event = new UserChangedEvent(tenantId, username);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    /**
+     * Applies an eviction published by any Auth instance.
+     */
+    public void onUserChanged(UserChangedEvent event) {
+        userLookupCache.evict(event.tenantId(), event.username());
+    }
+
+    private void publish(UserChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(MessagingConfig.EXCHANGE_NAME, MessagingConfig.USER_CHANGED_ROUTING_KEY, event);
+        } catch (AmqpException ex) {
+            // The write itself has committed; other instances fall back to the cache TTL.
+            logger.warn("Could not publish cache eviction for user {} in tenant {}",
+                    event.username(), event.tenantId(), ex);
+        }
+    }
+}
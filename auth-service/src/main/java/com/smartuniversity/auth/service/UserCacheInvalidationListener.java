@@ -0,0 +1,32 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.domain.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener on {@link User} that drops cached lookups whenever a user row is
+ * inserted, updated (e.g. a role change) or deleted, whichever code path made
+ * the change, on this instance and, through {@link UserCacheEvictionNotifier},
+ * on every other one. Instantiated by Hibernate through Spring's bean container
+ * while the entity manager factory is still being built, so the notifier (whose
+ * cache needs {@code UserRepository}, and with it that factory) is resolved on
+ * first use.
+ */
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<UserCacheEvictionNotifier> evictionNotifier;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserCacheEvictionNotifier> evictionNotifier) {
+        this.evictionNotifier = evictionNotifier;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        evictionNotifier.getObject().userChanged(user.getTenantId(), user.getUsername());
+    }
+}
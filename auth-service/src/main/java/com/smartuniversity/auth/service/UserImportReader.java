@@ -0,0 +1,136 @@
+package com.smartuniversity.auth.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads bulk import rows one line at a time, so arbitrarily large uploads are
+ * never held in memory.
+ *
+ * CSV input starts with a header naming the {@code username}, {@code password}
+ * and optional {@code role} columns, in any order; fields may be double-quoted.
+ * NDJSON input has one object per line with the same keys.
+ */
+class UserImportReader {
+
+    /**
+     * A parsed input line; {@code error} is set when the line could not be read.
+     */
+    record Row(long line, String username, String password, String role, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final UserImportService.Format format;
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+    private int usernameColumn = -1;
+    private int passwordColumn = -1;
+    private int roleColumn = -1;
+
+    UserImportReader(BufferedReader reader, UserImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank row, or {@code null} at end of input.
+     */
+    Row next() {
+        String line;
+        try {
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return format == UserImportService.Format.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (usernameColumn < 0) {
+            for (int i = 0; i < fields.size(); i++) {
+                switch (fields.get(i).trim().toLowerCase()) {
+                    case "username" -> usernameColumn = i;
+                    case "password" -> passwordColumn = i;
+                    case "role" -> roleColumn = i;
+                    default -> {
+                    }
+                }
+            }
+            if (usernameColumn < 0 || passwordColumn < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "CSV header must contain 'username' and 'password' columns");
+            }
+            return next();
+        }
+        return new Row(lineNumber, field(fields, usernameColumn), field(fields, passwordColumn),
+                field(fields, roleColumn), null);
+    }
+
+    private Row parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return new Row(lineNumber, text(node, "username"), text(node, "password"), text(node, "role"), null);
+        } catch (IOException ex) {
+            return new Row(lineNumber, null, null, null, "Malformed JSON");
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
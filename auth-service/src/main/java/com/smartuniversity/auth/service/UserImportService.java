@@ -0,0 +1,191 @@
+package com.smartuniversity.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.repository.UserRepository;
+import com.smartuniversity.auth.web.dto.UserImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Bulk user provisioning for one tenant.
+ *
+ * The upload is read row by row and processed in chunks: each chunk is checked
+ * against existing usernames with a single query, its passwords are hashed in
+ * parallel on the {@link PasswordHashingService} pool, and its rows are
+ * inserted with one JDBC batch in one transaction. A result is reported for
+ * every input row as soon as its chunk is done, after which {@code chunkDone}
+ * runs so the caller can push those results to the client.
+ */
+@Service
+public class UserImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO users "
+            + "(id, username, password_hash, role, tenant_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public UserImportService(UserRepository userRepository,
+                             UserLookupCache userLookupCache,
+                             PasswordHashingService passwordHashingService,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${auth.import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.passwordHashingService = passwordHashingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public void importUsers(String tenantId, Format format, InputStream body,
+                            Consumer<UserImportResult> results, Runnable chunkDone) {
+        UserImportReader reader = new UserImportReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), format, objectMapper);
+
+        Set<String> seen = new HashSet<>();
+        List<UserImportReader.Row> chunk = new ArrayList<>(batchSize);
+        UserImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            String error = validate(row);
+            if (error != null) {
+                results.accept(new UserImportResult(row.line(), row.username(), UserImportResult.Status.INVALID, error));
+                continue;
+            }
+            if (!seen.add(row.username())) {
+                results.accept(new UserImportResult(row.line(), row.username(), UserImportResult.Status.DUPLICATE,
+                        "Username appears earlier in this import"));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() >= batchSize) {
+                processChunk(tenantId, chunk, results);
+                chunk.clear();
+                chunkDone.run();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(tenantId, chunk, results);
+        }
+        chunkDone.run();
+    }
+
+    private void processChunk(String tenantId, List<UserImportReader.Row> chunk, Consumer<UserImportResult> results) {
+        List<String> usernames = chunk.stream().map(UserImportReader.Row::username).toList();
+        Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(tenantId, usernames));
+
+        List<UserImportReader.Row> toCreate = new ArrayList<>(chunk.size());
+        for (UserImportReader.Row row : chunk) {
+            if (existing.contains(row.username())) {
+                results.accept(new UserImportResult(row.line(), row.username(), UserImportResult.Status.DUPLICATE,
+                        "Username already exists in this tenant"));
+            } else {
+                toCreate.add(row);
+            }
+        }
+        if (toCreate.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordHashingService.encodeAll(toCreate.stream().map(UserImportReader.Row::password).toList());
+        } catch (ResponseStatusException ex) {
+            fail(toCreate, "Password hashing is saturated, retry these rows", results);
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            UserImportReader.Row row = toCreate.get(i);
+            batch.add(new Object[]{UUID.randomUUID(), row.username(), hashes.get(i), roleOf(row).name(),
+                    tenantId, now, now});
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        } catch (DataAccessException ex) {
+            logger.warn("Bulk import batch for tenant {} failed: {}", tenantId, ex.getMessage());
+            fail(toCreate, "Could not store this row", results);
+            return;
+        }
+
+        for (UserImportReader.Row row : toCreate) {
+            // Inserted through JDBC, so the JPA listener did not see these rows. Only negative
+            // entries can exist for new users, and other instances drop those within negative-ttl.
+            userLookupCache.evict(tenantId, row.username());
+            results.accept(new UserImportResult(row.line(), row.username(), UserImportResult.Status.CREATED, null));
+        }
+    }
+
+    private static void fail(List<UserImportReader.Row> rows, String message, Consumer<UserImportResult> results) {
+        for (UserImportReader.Row row : rows) {
+            results.accept(new UserImportResult(row.line(), row.username(), UserImportResult.Status.FAILED, message));
+        }
+    }
+
+    /**
+     * Same constraints as {@link com.smartuniversity.auth.web.dto.RegisterRequest}.
+     */
+    private static String validate(UserImportReader.Row row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        if (row.username() == null || row.username().length() < 3 || row.username().length() > 100) {
+            return "Username must be between 3 and 100 characters";
+        }
+        if (row.password() == null || row.password().length() < 6 || row.password().length() > 100) {
+            return "Password must be between 6 and 100 characters";
+        }
+        if (row.role() != null) {
+            try {
+                Role.valueOf(row.role().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                return "Unknown role '" + row.role() + "'";
+            }
+        }
+        return null;
+    }
+
+    private static Role roleOf(UserImportReader.Row row) {
+        return row.role() != null ? Role.valueOf(row.role().toUpperCase()) : Role.STUDENT;
+    }
+}
@@ -0,0 +1,110 @@
+package com.smartuniversity.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory tier in front of {@link UserRepository} for credential lookups.
+ *
+ * Entries are keyed by tenant and username, so a lookup can never return a user
+ * of another tenant. Known users (id, role and password hash) are kept for
+ * {@code security.user-cache.ttl}; unknown usernames are remembered for the much
+ * shorter {@code negative-ttl}, which is what keeps credential-stuffing traffic
+ * away from Postgres. Entries are evicted on every instance whenever a user row
+ * is written, see {@link UserCacheInvalidationListener}.
+ */
+@Component
+public class UserLookupCache {
+
+    public static final String USERS_CACHE_NAME = "auth.users";
+    public static final String UNKNOWN_USERS_CACHE_NAME = "auth.users.unknown";
+
+    private final UserRepository userRepository;
+    private final Cache<Key, CachedUser> users;
+    private final Cache<Key, Boolean> unknownUsers;
+
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${security.user-cache.max-size:100000}") long maxSize,
+                           @Value("${security.user-cache.ttl:2m}") Duration ttl,
+                           @Value("${security.user-cache.negative-ttl:10s}") Duration negativeTtl,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, USERS_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownUsers, UNKNOWN_USERS_CACHE_NAME);
+    }
+
+    public Optional<CachedUser> find(String tenantId, String username) {
+        Key key = new Key(tenantId, username);
+        CachedUser cached = users.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (unknownUsers.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+
+        Optional<CachedUser> loaded = userRepository.findByUsernameAndTenantId(username, tenantId)
+                .map(CachedUser::of);
+        if (loaded.isPresent()) {
+            users.put(key, loaded.get());
+        } else {
+            unknownUsers.put(key, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Authoritative existence check for registration. A cached user answers
+     * immediately; a negative entry is not trusted, since another instance may
+     * have registered the name since it was cached.
+     */
+    public boolean exists(String tenantId, String username) {
+        if (users.getIfPresent(new Key(tenantId, username)) != null) {
+            return true;
+        }
+        return userRepository.existsByUsernameAndTenantId(username, tenantId);
+    }
+
+    public void put(User user) {
+        Key key = new Key(user.getTenantId(), user.getUsername());
+        unknownUsers.invalidate(key);
+        users.put(key, CachedUser.of(user));
+    }
+
+    public void evict(String tenantId, String username) {
+        Key key = new Key(tenantId, username);
+        users.invalidate(key);
+        unknownUsers.invalidate(key);
+    }
+
+    private record Key(String tenantId, String username) {
+    }
+
+    public record CachedUser(UUID id, String tenantId, Role role, String passwordHash) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getTenantId(), user.getRole(), user.getPasswordHash());
+        }
+    }
+}
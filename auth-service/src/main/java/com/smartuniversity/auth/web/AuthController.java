@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST API for user registration and authentication.
  */
@@ -31,13 +33,13 @@ public class AuthController {
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Register a new user", description = "Creates a user, hashes the password, and returns a JWT")
-    public AuthResponse register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
         return authService.register(request);
     }
 
     @PostMapping("/login")
     @Operation(summary = "Authenticate user", description = "Validates credentials and returns a JWT with role and tenant")
-    public AuthResponse login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.smartuniversity.auth.web;
+
+import com.smartuniversity.auth.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+/**
+ * Early revocation of access tokens. Logout revokes the presented token; admins
+ * can revoke every token of a user in their tenant. The gateway restricts
+ * {@code /auth/users/**} writes to the ADMIN role.
+ */
+@RestController
+@RequestMapping("/auth")
+@Tag(name = "Token revocation", description = "Logout and revocation of issued tokens")
+public class TokenRevocationController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public TokenRevocationController(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Log out", description = "Revokes the bearer token sent with the request")
+    public void logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bearer token required");
+        }
+        tokenRevocationService.revokeToken(authorization.substring(7));
+    }
+
+    @PostMapping("/users/{userId}/revoke-tokens")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Revoke a user's tokens", description = "Invalidates every token issued to the user so far")
+    public void revokeUserTokens(
+            @PathVariable UUID userId,
+            @RequestHeader(value = "X-User-Role", required = false) String role,
+            @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
+
+        if (!StringUtils.hasText(tenantId)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Tenant required");
+        }
+        if (!"ADMIN".equals(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins may revoke tokens");
+        }
+        tokenRevocationService.revokeUserTokens(userId, tenantId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.smartuniversity.auth.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartuniversity.auth.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Bulk user provisioning for administrators. The gateway restricts this path to
+ * the ADMIN role and supplies the caller's tenant; users are always created in
+ * that tenant.
+ */
+@RestController
+@RequestMapping("/auth/users")
+@Tag(name = "User provisioning", description = "Bulk import of users per tenant")
+public class UserImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    public UserImportController(UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON}, produces = NDJSON)
+    @Operation(summary = "Bulk import users",
+            description = "Streams CSV (username,password[,role]) or NDJSON rows and streams back one result per row")
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            HttpServletRequest request,
+            @RequestHeader(value = "X-User-Role", required = false) String role,
+            @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
+
+        if (!StringUtils.hasText(tenantId)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Tenant required");
+        }
+        if (!"ADMIN".equals(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins may import users");
+        }
+
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        StreamingResponseBody body = out -> userImportService.importUsers(
+                tenantId, format, request.getInputStream(), result -> writeLine(out, result), () -> flush(out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object result) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Pushes a finished chunk to the client instead of leaving it in the
+     * response buffer while the next chunk is hashed.
+     */
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
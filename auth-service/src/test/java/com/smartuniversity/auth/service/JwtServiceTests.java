@@ -0,0 +1,82 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.domain.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "VGhpcy1pcy1hLXRlc3Qtc2VjcmV0LWZvci1hdXRoLXNlcnZpY2Uh";
+
+    private final JwtService jwtService = new JwtService(SECRET, 3_600_000L);
+
+    @Test
+    void mintedTokenVerifiesWithJjwt() {
+        UUID userId = UUID.randomUUID();
+        long beforeMillis = System.currentTimeMillis();
+        long before = beforeMillis / 1000;
+
+        String token = jwtService.generateToken(userId, Role.TEACHER, "engineering");
+
+        Claims claims = parse(token);
+        assertThat(claims.getSubject()).isEqualTo(userId.toString());
+        assertThat(claims.get("role", String.class)).isEqualTo("TEACHER");
+        assertThat(claims.get("tenant", String.class)).isEqualTo("engineering");
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(claims.getIssuedAt().getTime() / 1000).isBetween(before, before + 1);
+        assertThat(claims.get("iat_ms", Long.class)).isBetween(beforeMillis, System.currentTimeMillis());
+        assertThat(claims.get("iat_ms", Long.class) / 1000).isEqualTo(claims.getIssuedAt().getTime() / 1000);
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime())
+                .isBetween(3_599_000L, 3_601_000L);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        assertThat(header).isEqualTo("{\"alg\":\"HS256\"}");
+    }
+
+    @Test
+    void everyTokenGetsItsOwnId() {
+        UUID userId = UUID.randomUUID();
+
+        String first = jwtService.generateToken(userId, Role.STUDENT, "engineering");
+        String second = jwtService.generateToken(userId, Role.STUDENT, "engineering");
+
+        assertThat(parse(first).getId()).isNotEqualTo(parse(second).getId());
+    }
+
+    @Test
+    void tenantIdsNeedingEscapesRoundTrip() {
+        String tenant = "fac\"ul\\té\n\u0001";
+
+        String token = jwtService.generateToken(UUID.randomUUID(), Role.STUDENT, tenant);
+
+        assertThat(parse(token).get("tenant", String.class)).isEqualTo(tenant);
+    }
+
+    @Test
+    void reusedBuffersDoNotLeakBetweenTokens() {
+        UUID userId = UUID.randomUUID();
+        jwtService.generateToken(userId, Role.STUDENT, "a-very-long-tenant-identifier-".repeat(4));
+
+        String token = jwtService.generateToken(userId, Role.ADMIN, "x");
+
+        assertThat(parse(token).get("tenant", String.class)).isEqualTo("x");
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
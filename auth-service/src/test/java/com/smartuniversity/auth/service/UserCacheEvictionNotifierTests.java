@@ -0,0 +1,74 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.config.MessagingConfig;
+import com.smartuniversity.common.events.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserCacheEvictionNotifierTests {
+
+    private final UserLookupCache cache = Mockito.mock(UserLookupCache.class);
+    private final RabbitTemplate rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+    private final UserCacheEvictionNotifier notifier = new UserCacheEvictionNotifier(cache, rabbitTemplate, true);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        notifier.userChanged("engineering", "alice");
+
+        verify(cache).evict("engineering", "alice");
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(rabbitTemplate).convertAndSend(MessagingConfig.EXCHANGE_NAME, MessagingConfig.USER_CHANGED_ROUTING_KEY,
+                new UserChangedEvent("engineering", "alice"));
+    }
+
+    @Test
+    void brokerFailureDoesNotFailTheWrite() {
+        doThrow(new AmqpConnectException(new RuntimeException("down")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        assertThatCode(() -> notifier.userChanged("engineering", "alice")).doesNotThrowAnyException();
+        verify(cache).evict("engineering", "alice");
+    }
+
+    @Test
+    void disabledEventsStayLocal() {
+        UserCacheEvictionNotifier local = new UserCacheEvictionNotifier(cache, rabbitTemplate, false);
+
+        local.userChanged("engineering", "alice");
+
+        verify(cache).evict("engineering", "alice");
+        verify(rabbitTemplate, never()).convertAndSend(eq(MessagingConfig.EXCHANGE_NAME), anyString(), any(Object.class));
+    }
+
+    @Test
+    void receivedEventEvictsLocally() {
+        notifier.onUserChanged(new UserChangedEvent("medicine", "bob"));
+
+        verify(cache).evict("medicine", "bob");
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserCacheInvalidationListenerIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Test
+    void roleChangeEvictsCachedUser() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("carol");
+        user.setTenantId("engineering");
+        user.setRole(Role.STUDENT);
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+
+        assertThat(userLookupCache.find("engineering", "carol"))
+                .map(UserLookupCache.CachedUser::role).contains(Role.STUDENT);
+
+        User stored = userRepository.findByUsernameAndTenantId("carol", "engineering").orElseThrow();
+        stored.setRole(Role.TEACHER);
+        userRepository.save(stored);
+
+        assertThat(userLookupCache.find("engineering", "carol"))
+                .map(UserLookupCache.CachedUser::role).contains(Role.TEACHER);
+    }
+
+    @Test
+    void insertDropsNegativeEntry() {
+        assertThat(userLookupCache.find("engineering", "dave")).isEmpty();
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("dave");
+        user.setTenantId("engineering");
+        user.setRole(Role.STUDENT);
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+
+        assertThat(userLookupCache.find("engineering", "dave")).isPresent();
+    }
+}
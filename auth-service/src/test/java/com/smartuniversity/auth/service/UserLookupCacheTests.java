@@ -0,0 +1,71 @@
+package com.smartuniversity.auth.service;
+
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupCacheTests {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final UserLookupCache cache = new UserLookupCache(userRepository, 100,
+            Duration.ofMinutes(10), Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void knownUserIsLoadedOnce() {
+        User alice = user("alice", "engineering");
+        when(userRepository.findByUsernameAndTenantId("alice", "engineering")).thenReturn(Optional.of(alice));
+
+        assertThat(cache.find("engineering", "alice")).map(UserLookupCache.CachedUser::id).contains(alice.getId());
+        assertThat(cache.find("engineering", "alice")).isPresent();
+
+        verify(userRepository, times(1)).findByUsernameAndTenantId("alice", "engineering");
+    }
+
+    @Test
+    void unknownUserIsRememberedPerTenant() {
+        when(userRepository.findByUsernameAndTenantId(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Optional.empty());
+
+        assertThat(cache.find("engineering", "mallory")).isEmpty();
+        assertThat(cache.find("engineering", "mallory")).isEmpty();
+        assertThat(cache.find("medicine", "mallory")).isEmpty();
+
+        verify(userRepository, times(1)).findByUsernameAndTenantId("mallory", "engineering");
+        verify(userRepository, times(1)).findByUsernameAndTenantId("mallory", "medicine");
+    }
+
+    @Test
+    void evictionForcesReload() {
+        User alice = user("alice", "engineering");
+        when(userRepository.findByUsernameAndTenantId("alice", "engineering")).thenReturn(Optional.of(alice));
+        cache.find("engineering", "alice");
+
+        alice.setRole(Role.TEACHER);
+        cache.evict("engineering", "alice");
+
+        assertThat(cache.find("engineering", "alice")).map(UserLookupCache.CachedUser::role).contains(Role.TEACHER);
+        verify(userRepository, times(2)).findByUsernameAndTenantId("alice", "engineering");
+    }
+
+    private static User user(String username, String tenantId) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setTenantId(tenantId);
+        user.setRole(Role.STUDENT);
+        user.setPasswordHash("hash");
+        return user;
+    }
+}
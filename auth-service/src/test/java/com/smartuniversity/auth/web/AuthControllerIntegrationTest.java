@@ -11,9 +11,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,10 +43,13 @@ class AuthControllerIntegrationTest {
 
     @Test
     void registerAndLoginShouldReturnJwt() throws Exception {
-        // register
-        mockMvc.perform(post("/auth/register")
+        // register (password hashing completes asynchronously)
+        MvcResult registerResult = mockMvc.perform(post("/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(registerResult))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.token", notNullValue()));
 
@@ -53,10 +59,36 @@ class AuthControllerIntegrationTest {
         loginRequest.setPassword("password123");
         loginRequest.setTenantId("engineering");
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult loginResult = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(loginResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token", notNullValue()));
     }
+
+    @Test
+    void wrongPasswordShouldReturn401() throws Exception {
+        registerRequest.setUsername("bob");
+        MvcResult registerResult = mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(registerResult)).andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("bob");
+        loginRequest.setPassword("wrong-password");
+        loginRequest.setTenantId("engineering");
+
+        MvcResult loginResult = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(loginResult))
+                .andExpect(status().isUnauthorized());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.smartuniversity.auth.web;
+
+import com.smartuniversity.auth.config.MessagingConfig;
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import com.smartuniversity.auth.service.JwtService;
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    void logoutPublishesRevocationOfThePresentedToken() throws Exception {
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateToken(userId, Role.STUDENT, "engineering");
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        TokenRevokedEvent event = publishedEvent();
+        assertThat(event.tokenId()).isEqualTo(jwtService.parseToken(token).getId());
+        assertThat(event.userId()).isEqualTo(userId);
+        assertThat(event.notBefore()).isNull();
+        assertThat(event.expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void logoutWithInvalidTokenIsRejected() throws Exception {
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void adminRevokesAllTokensOfUserInTheirTenant() throws Exception {
+        User user = new User();
+        user.setUsername("mallory");
+        user.setPasswordHash("hash");
+        user.setRole(Role.STUDENT);
+        user.setTenantId("engineering");
+        user = userRepository.save(user);
+
+        mockMvc.perform(post("/auth/users/{userId}/revoke-tokens", user.getId())
+                        .header("X-User-Role", "ADMIN")
+                        .header("X-Tenant-Id", "science"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/auth/users/{userId}/revoke-tokens", user.getId())
+                        .header("X-User-Role", "ADMIN")
+                        .header("X-Tenant-Id", "engineering"))
+                .andExpect(status().isNoContent());
+
+        TokenRevokedEvent event = publishedEvent();
+        assertThat(event.tokenId()).isNull();
+        assertThat(event.userId()).isEqualTo(user.getId());
+        assertThat(event.expiresAt()).isEqualTo(event.notBefore().plusMillis(jwtService.getExpirationMs()));
+    }
+
+    private TokenRevokedEvent publishedEvent() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(rabbitTemplate).convertAndSend(
+                Mockito.eq(MessagingConfig.EXCHANGE_NAME),
+                Mockito.eq(MessagingConfig.TOKEN_REVOKED_ROUTING_KEY),
+                captor.capture());
+        return (TokenRevokedEvent) captor.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartuniversity.auth.web;
+
+import com.smartuniversity.auth.domain.Role;
+import com.smartuniversity.auth.domain.User;
+import com.smartuniversity.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void csvImportCreatesNewUsersAndReportsEveryRow() throws Exception {
+        User existing = new User();
+        existing.setUsername("erin");
+        existing.setPasswordHash("hash");
+        existing.setRole(Role.STUDENT);
+        existing.setTenantId("science");
+        userRepository.save(existing);
+
+        String csv = """
+                username,password,role
+                carol,secret123,
+                dave,secret123,TEACHER
+                carol,secret123,
+                x,secret123,
+                erin,secret123,
+                """;
+
+        MvcResult result = mockMvc.perform(post("/auth/users/import")
+                        .contentType("text/csv")
+                        .header("X-User-Role", "ADMIN")
+                        .header("X-Tenant-Id", "science")
+                        .content(csv))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(5);
+        assertThat(body).contains("\"line\":2,\"username\":\"carol\",\"status\":\"CREATED\"");
+        assertThat(body).contains("\"line\":4,\"username\":\"carol\",\"status\":\"DUPLICATE\"");
+        assertThat(body).contains("\"line\":5,\"username\":\"x\",\"status\":\"INVALID\"");
+        assertThat(body).contains("\"line\":6,\"username\":\"erin\",\"status\":\"DUPLICATE\"");
+        assertThat(userRepository.findByUsernameAndTenantId("dave", "science"))
+                .map(User::getRole).contains(Role.TEACHER);
+    }
+
+    @Test
+    void nonAdminIsRejected() throws Exception {
+        mockMvc.perform(post("/auth/users/import")
+                        .contentType("application/x-ndjson")
+                        .header("X-User-Role", "STUDENT")
+                        .header("X-Tenant-Id", "science")
+                        .content("{\"username\":\"frank\",\"password\":\"secret123\"}\n"))
+                .andExpect(status().isForbidden());
+    }
+}
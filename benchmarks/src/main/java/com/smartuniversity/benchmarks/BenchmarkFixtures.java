@@ -0,0 +1,17 @@
+package com.smartuniversity.benchmarks;
+
+/**
+ * Shared constants for the benchmark harnesses.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Same default secret the gateway and auth service ship with.
+     */
+    static final String JWT_SECRET = "c21hcnQtdW5pdmVyc2l0eS1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tMjU2Yml0cw==";
+
+    static final String TENANT_ID = "engineering";
+
+    private BenchmarkFixtures() {
+    }
+}
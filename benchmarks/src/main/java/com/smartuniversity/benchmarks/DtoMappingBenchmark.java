@@ -0,0 +1,125 @@
+package com.smartuniversity.benchmarks;
+
+import com.smartuniversity.exam.domain.Exam;
+import com.smartuniversity.exam.domain.ExamStateType;
+import com.smartuniversity.exam.domain.Question;
+import com.smartuniversity.exam.service.ExamService;
+import com.smartuniversity.exam.web.dto.ExamDetailDto;
+import com.smartuniversity.market.domain.Order;
+import com.smartuniversity.market.domain.OrderItem;
+import com.smartuniversity.market.domain.OrderStatus;
+import com.smartuniversity.market.domain.Product;
+import com.smartuniversity.market.service.OrderSagaService;
+import com.smartuniversity.market.web.dto.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on the marketplace order and exam detail read paths.
+ * The services are built without collaborators because the mappers only
+ * touch the entity graph passed in.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"3", "30"})
+    public int size;
+
+    private OrderSagaService orderSagaService;
+    private ExamService examService;
+    private Order order;
+    private Exam exam;
+
+    @Setup
+    public void setUp() {
+        orderSagaService = new OrderSagaService(null, null, null, null, null, null, null, null);
+        examService = new ExamService(null, null, null, null, null, null);
+        order = order(size);
+        exam = exam(size);
+    }
+
+    @Benchmark
+    public OrderDto orderToDto() {
+        return orderSagaService.toDto(order);
+    }
+
+    @Benchmark
+    public ExamDetailDto examToDetailDto() {
+        return examService.toDetailDto(exam);
+    }
+
+    private static Order order(int itemCount) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setTenantId(BenchmarkFixtures.TENANT_ID);
+        order.setBuyerId(UUID.randomUUID());
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setCreatedAt(Instant.now());
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(5 + i));
+
+            OrderItem item = new OrderItem();
+            item.setId(UUID.randomUUID());
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 3);
+            item.setPrice(product.getPrice());
+            items.add(item);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setItems(items);
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    private static Exam exam(int questionCount) {
+        Exam exam = new Exam();
+        exam.setId(UUID.randomUUID());
+        exam.setTenantId(BenchmarkFixtures.TENANT_ID);
+        exam.setCreatorId(UUID.randomUUID());
+        exam.setTitle("Algorithms midterm");
+        exam.setDescription("Sorting, graphs and dynamic programming");
+        exam.setStartTime(Instant.now());
+        exam.setState(ExamStateType.LIVE);
+
+        List<Question> questions = new ArrayList<>();
+        // Insert in reverse so the mapper's sort does real work.
+        for (int i = questionCount; i > 0; i--) {
+            Question question = new Question();
+            question.setId(UUID.randomUUID());
+            question.setExam(exam);
+            question.setText("Question " + i);
+            question.setSortOrder(i);
+            questions.add(question);
+        }
+        exam.setQuestions(questions);
+        return exam;
+    }
+}
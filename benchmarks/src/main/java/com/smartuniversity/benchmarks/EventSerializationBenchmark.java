@@ -0,0 +1,65 @@
+package com.smartuniversity.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartuniversity.common.events.ExamStartedEvent;
+import com.smartuniversity.common.events.OrderConfirmedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the domain events published on
+ * {@code university.events}, mirroring what {@code Jackson2JsonMessageConverter}
+ * does for each publish.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private OrderConfirmedEvent orderConfirmedEvent;
+    private ExamStartedEvent examStartedEvent;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        orderConfirmedEvent = new OrderConfirmedEvent(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                BenchmarkFixtures.TENANT_ID,
+                new BigDecimal("57.50"),
+                Instant.now());
+        examStartedEvent = new ExamStartedEvent(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                BenchmarkFixtures.TENANT_ID,
+                Instant.now());
+    }
+
+    @Benchmark
+    public byte[] orderConfirmedEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderConfirmedEvent);
+    }
+
+    @Benchmark
+    public byte[] examStartedEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(examStartedEvent);
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartuniversity.benchmarks;
+
+import com.smartuniversity.gateway.revocation.TokenRevocationList;
+import com.smartuniversity.gateway.revocation.TokenRevocationProperties;
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtService;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import com.smartuniversity.gateway.security.RouteAuthorizationProperties;
+import com.smartuniversity.gateway.security.RouteAuthorizationTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RBAC decision made by {@link JwtAuthenticationFilter#isAuthorized} for every
+ * authenticated request, using the rule set shipped in the gateway's application.yml.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayAuthorizationBenchmark {
+
+    @Param({"GET /market/products", "POST /market/products", "POST /exam/exams/42/start", "GET /dashboard/sensors"})
+    public String request;
+
+    private JwtAuthenticationFilter filter;
+    private JwtUserDetails student;
+    private HttpMethod method;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, 0, meterRegistry);
+        filter = new JwtAuthenticationFilter(jwtService, new RouteAuthorizationTable(gatewayRules()),
+                new TokenRevocationList(new TokenRevocationProperties(), meterRegistry));
+        student = new JwtUserDetails("user-1", "STUDENT", BenchmarkFixtures.TENANT_ID);
+
+        int space = request.indexOf(' ');
+        method = HttpMethod.valueOf(request.substring(0, space));
+        path = request.substring(space + 1);
+    }
+
+    @Benchmark
+    public boolean isAuthorized() {
+        return filter.isAuthorized(student, path, method);
+    }
+
+    private static RouteAuthorizationProperties gatewayRules() {
+        RouteAuthorizationProperties properties = new RouteAuthorizationProperties();
+        properties.setPublicPaths(List.of("/auth/**", "/actuator/**", "/*/actuator/health"));
+        properties.setRules(List.of(
+                rule("/market/products/**", "POST", "TEACHER", "ADMIN"),
+                rule("/booking/resources/**", "POST", "TEACHER", "ADMIN"),
+                rule("/exam/exams/**", "POST", "TEACHER", "ADMIN"),
+                rule("/exam/exams/*/submit", "POST", "STUDENT")));
+        return properties;
+    }
+
+    private static RouteAuthorizationProperties.Rule rule(String path, String method, String... roles) {
+        RouteAuthorizationProperties.Rule rule = new RouteAuthorizationProperties.Rule();
+        rule.setPath(path);
+        rule.setMethods(List.of(method));
+        rule.setRoles(List.of(roles));
+        return rule;
+    }
+}
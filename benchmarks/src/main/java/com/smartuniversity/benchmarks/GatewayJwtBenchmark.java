@@ -0,0 +1,80 @@
+package com.smartuniversity.benchmarks;
+
+import com.smartuniversity.gateway.security.JwtService;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation at the gateway: the raw jjwt parse the gateway used to do
+ * per request, {@link JwtService#parseToken} with the verified-token cache
+ * disabled, and the cached path that repeat requests take.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayJwtBenchmark {
+
+    private Key key;
+    private String token;
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET));
+        token = Jwts.builder()
+                .setSubject("3f1c1b8e-6d1a-4a0e-9c55-0d6a2f3b9e41")
+                .claim("role", "STUDENT")
+                .claim("tenant", "engineering")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        cachedJwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, 10_000, new SimpleMeterRegistry());
+        uncachedJwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, 0, new SimpleMeterRegistry());
+        cachedJwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims jjwtParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public JwtUserDetails parseTokenUncached() {
+        return uncachedJwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtUserDetails parseTokenCached() {
+        return cachedJwtService.parseToken(token);
+    }
+}
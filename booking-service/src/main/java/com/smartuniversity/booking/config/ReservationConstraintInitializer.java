@@ -0,0 +1,154 @@
+package com.smartuniversity.booking.config;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adds the PostgreSQL exclusion constraint that makes double-booking
+ * impossible: no two active ({@code CREATED} or {@code HOLD}) reservations of
+ * the same resource may have overlapping {@code [start_time, end_time)} ranges.
+ *
+ * The schema is otherwise maintained by Hibernate, which cannot express
+ * exclusion constraints, so this runs once the entity manager factory (and
+ * with it the schema update) is ready. It is idempotent, replaces a constraint
+ * created before holds existed, and is skipped on other databases such as the
+ * H2 used by most tests.
+ *
+ * Rows that already overlap, e.g. booked into empty slots before the constraint
+ * existed, would make adding it fail. They are looked for first and reported,
+ * and startup stops until they have been resolved, rather than running
+ * without the guarantee.
+ */
+@Component
+public class ReservationConstraintInitializer implements InitializingBean {
+
+    public static final String CONSTRAINT_NAME = "reservations_no_overlap";
+
+    private static final String STATUS_CHECK_NAME = "reservations_status_check";
+
+    private static final int MAX_REPORTED_OVERLAPS = 20;
+
+    private static final String OVERLAPS_SQL = """
+            select a.resource_id, a.id, b.id
+            from reservations a
+            join reservations b
+              on b.resource_id = a.resource_id
+             and a.id < b.id
+             and a.start_time < b.end_time
+             and b.start_time < a.end_time
+            where a.status in ('CREATED', 'HOLD')
+              and b.status in ('CREATED', 'HOLD')
+            limit ?
+            """;
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationConstraintInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public ReservationConstraintInitializer(JdbcTemplate jdbcTemplate,
+                                            DataSource dataSource,
+                                            EntityManagerFactory entityManagerFactory) {
+        // The factory is only injected so that Hibernate has created the table first.
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(product)) {
+            logger.info("Skipping reservation exclusion constraint on {}", product);
+            return;
+        }
+
+        updateStatusCheck();
+
+        List<String> existing = jdbcTemplate.queryForList(
+                "select pg_get_constraintdef(oid) from pg_constraint where conname = ?", String.class, CONSTRAINT_NAME);
+        if (!existing.isEmpty() && existing.get(0).contains("HOLD")) {
+            return;
+        }
+
+        // Checked before the old constraint is dropped, so a failure leaves it in place.
+        checkNoOverlaps();
+
+        if (!existing.isEmpty()) {
+            // Created before holds existed; the replacement below also covers them.
+            jdbcTemplate.execute("alter table reservations drop constraint " + CONSTRAINT_NAME);
+        }
+
+        // btree_gist provides the GiST '=' operator for the uuid column.
+        jdbcTemplate.execute("create extension if not exists btree_gist");
+        try {
+            jdbcTemplate.execute("""
+                    alter table reservations
+                      add constraint %s
+                      exclude using gist (
+                        resource_id with =,
+                        tstzrange(start_time, end_time, '[)') with &&
+                      ) where (status in ('CREATED', 'HOLD'))
+                    """.formatted(CONSTRAINT_NAME));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance booked an overlap after the check; report it the same way.
+            checkNoOverlaps();
+            throw ex;
+        }
+        logger.info("Added exclusion constraint {} on reservations", CONSTRAINT_NAME);
+    }
+
+    /**
+     * Fails with the overlapping reservations listed if any active ones overlap.
+     */
+    private void checkNoOverlaps() {
+        List<String> overlaps = jdbcTemplate.query(OVERLAPS_SQL,
+                (rs, rowNum) -> "resource %s: %s and %s".formatted(rs.getString(1), rs.getString(2), rs.getString(3)),
+                MAX_REPORTED_OVERLAPS + 1);
+        if (overlaps.isEmpty()) {
+            return;
+        }
+
+        String listed = String.join("; ", overlaps.subList(0, Math.min(overlaps.size(), MAX_REPORTED_OVERLAPS)));
+        if (overlaps.size() > MAX_REPORTED_OVERLAPS) {
+            listed += "; ...";
+        }
+        logger.error("Cannot add {}: active reservations overlap ({}). Cancel one reservation of each pair and restart.",
+                CONSTRAINT_NAME, listed);
+        throw new IllegalStateException("Cannot add " + CONSTRAINT_NAME
+                + " while active reservations overlap; cancel one of each pair and restart: " + listed);
+    }
+
+    /**
+     * Hibernate adds a check constraint listing the enum values when it creates
+     * the table but never updates it, so a table created before a status was
+     * added would reject it.
+     */
+    private void updateStatusCheck() {
+        List<String> existing = jdbcTemplate.queryForList(
+                "select pg_get_constraintdef(oid) from pg_constraint where conname = ?", String.class, STATUS_CHECK_NAME);
+        if (existing.isEmpty() || existing.get(0).contains("HOLD")) {
+            return;
+        }
+        String statuses = Arrays.stream(ReservationStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("alter table reservations drop constraint " + STATUS_CHECK_NAME);
+        jdbcTemplate.execute("alter table reservations add constraint %s check (status in (%s))"
+                .formatted(STATUS_CHECK_NAME, statuses));
+        logger.info("Updated {} to allow statuses {}", STATUS_CHECK_NAME, statuses);
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -21,7 +22,12 @@ import java.util.UUID;
  * Reservation for a resource.
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        // Overlap checks and per-resource index loads only look at active, upcoming rows.
+        @Index(name = "idx_reservations_resource_status_end", columnList = "resource_id, status, end_time"),
+        // Calendar pages are range scans in (start_time, id) order within a tenant.
+        @Index(name = "idx_reservations_tenant_start", columnList = "tenant_id, start_time, id")
+})
 public class Reservation {
 
     @Id
@@ -48,6 +54,18 @@ public class Reservation {
     @Column(nullable = false, length = 20)
     private ReservationStatus status;
 
+    /**
+     * Recurring series this reservation was booked as part of, if any.
+     */
+    @Column(name = "series_id")
+    private UUID seriesId;
+
+    /**
+     * When a {@code HOLD} is released unless confirmed first.
+     */
+    @Column(name = "hold_expires_at")
+    private Instant holdExpiresAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -122,6 +140,22 @@ public class Reservation {
         this.status = status;
     }
 
+    public Instant getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(Instant holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public UUID getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(UUID seriesId) {
+        this.seriesId = seriesId;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -1,9 +1,22 @@
 package com.smartuniversity.booking.domain;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Status of a reservation.
  */
 public enum ReservationStatus {
     CREATED,
-    CANCELED
-}
\ No newline at end of file
+    CANCELED,
+    /**
+     * Tentatively reserved until {@code holdExpiresAt}, then confirmed or released.
+     */
+    HOLD;
+
+    /**
+     * Statuses that occupy the reserved time slot.
+     */
+    public static final Set<ReservationStatus> ACTIVE = Collections.unmodifiableSet(EnumSet.of(CREATED, HOLD));
+}
@@ -0,0 +1,58 @@
+package com.smartuniversity.booking.repository;
+
+import com.smartuniversity.booking.domain.ArchivedReservation;
+import com.smartuniversity.booking.repository.ReservationRepository.CalendarEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read access to archived reservations, in the same shapes as the matching
+ * {@link ReservationRepository} queries so that results can be merged.
+ */
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, UUID> {
+
+    /**
+     * Archived reservations of one user in a tenant, with resource names.
+     */
+    @Query("""
+            select a.id as id, a.resourceId as resourceId, res.name as resourceName, a.userId as userId,
+                   a.startTime as startTime, a.endTime as endTime, a.status as status
+            from ArchivedReservation a left join Resource res on res.id = a.resourceId
+            where a.tenantId = :tenantId
+              and a.userId = :userId
+            """)
+    List<CalendarEntry> findEntriesByUser(
+            @Param("tenantId") String tenantId,
+            @Param("userId") UUID userId);
+
+    /**
+     * Archived counterpart of {@link ReservationRepository#findCalendarPage}.
+     */
+    @Query("""
+            select a.id as id, a.resourceId as resourceId, res.name as resourceName, a.userId as userId,
+                   a.startTime as startTime, a.endTime as endTime, a.status as status
+            from ArchivedReservation a left join Resource res on res.id = a.resourceId
+            where a.tenantId = :tenantId
+              and a.startTime < :to
+              and a.endTime > :from
+              and (a.startTime > :afterStart or (a.startTime = :afterStart and a.id > :afterId))
+              and (cast(:resourceId as java.util.UUID) is null or a.resourceId = :resourceId)
+              and (cast(:userId as java.util.UUID) is null or a.userId = :userId)
+            order by a.startTime asc, a.id asc
+            """)
+    List<CalendarEntry> findCalendarPage(
+            @Param("tenantId") String tenantId,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("afterStart") Instant afterStart,
+            @Param("afterId") UUID afterId,
+            @Param("resourceId") UUID resourceId,
+            @Param("userId") UUID userId,
+            Pageable page);
+}
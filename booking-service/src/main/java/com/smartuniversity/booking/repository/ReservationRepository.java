@@ -2,13 +2,14 @@ package com.smartuniversity.booking.repository;
 
 import com.smartuniversity.booking.domain.Reservation;
 import com.smartuniversity.booking.domain.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import jakarta.persistence.LockModeType;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,14 +17,43 @@ import java.util.UUID;
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
 
     /**
-     * Find all reservations for a tenant (for calendar view)
+     * Find all reservations for a tenant, with their resources fetched in the same query
      */
-    List<Reservation> findAllByTenantId(String tenantId);
+    @Query("select r from Reservation r join fetch r.resource where r.tenantId = :tenantId")
+    List<Reservation> findAllByTenantId(@Param("tenantId") String tenantId);
 
     /**
-     * Find all reservations for a specific user in a tenant
+     * Find all reservations for a specific user in a tenant, with their resources
      */
-    List<Reservation> findAllByTenantIdAndUserId(String tenantId, UUID userId);
+    @Query("select r from Reservation r join fetch r.resource where r.tenantId = :tenantId and r.userId = :userId")
+    List<Reservation> findAllByTenantIdAndUserId(@Param("tenantId") String tenantId, @Param("userId") UUID userId);
+
+    /**
+     * One page of the reservations overlapping {@code [from, to)}, ordered by
+     * start time and id and resuming after {@code (afterStart, afterId)}, with
+     * the resource name joined in. Resource and user filters are optional.
+     */
+    @Query("""
+            select r.id as id, res.id as resourceId, res.name as resourceName, r.userId as userId,
+                   r.startTime as startTime, r.endTime as endTime, r.status as status
+            from Reservation r join r.resource res
+            where r.tenantId = :tenantId
+              and r.startTime < :to
+              and r.endTime > :from
+              and (r.startTime > :afterStart or (r.startTime = :afterStart and r.id > :afterId))
+              and (cast(:resourceId as java.util.UUID) is null or res.id = :resourceId)
+              and (cast(:userId as java.util.UUID) is null or r.userId = :userId)
+            order by r.startTime asc, r.id asc
+            """)
+    List<CalendarEntry> findCalendarPage(
+            @Param("tenantId") String tenantId,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("afterStart") Instant afterStart,
+            @Param("afterId") UUID afterId,
+            @Param("resourceId") UUID resourceId,
+            @Param("userId") UUID userId,
+            Pageable page);
 
     /**
      * Find a specific reservation by ID and tenant
@@ -31,23 +61,116 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     Optional<Reservation> findByIdAndTenantId(UUID id, String tenantId);
 
     /**
-     * Find overlapping reservations with pessimistic locking to prevent double-booking
+     * Reservations in one of the given statuses on a resource that have not
+     * ended by {@code now}, reduced to their time span.
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
-            select r from Reservation r
+            select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime
+            from Reservation r
             where r.resource.id = :resourceId
-              and r.tenantId = :tenantId
-              and r.status = :status
-              and r.endTime > :startTime
-              and r.startTime < :endTime
+              and r.status in :statuses
+              and r.endTime > :now
             """)
-    List<Reservation> findOverlappingReservationsForUpdate(
+    List<ReservationSpan> findSpansEndingAfter(
             @Param("resourceId") UUID resourceId,
-            @Param("tenantId") String tenantId,
-            @Param("status") ReservationStatus status,
-            @Param("startTime") Instant startTime,
-            @Param("endTime") Instant endTime);
+            @Param("statuses") Collection<ReservationStatus> statuses,
+            @Param("now") Instant now);
+
+    /**
+     * {@link #findSpansEndingAfter} for several resources in one query.
+     */
+    @Query("""
+            select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime
+            from Reservation r
+            where r.resource.id in :resourceIds
+              and r.status in :statuses
+              and r.endTime > :now
+            """)
+    List<ReservationSpan> findSpansOfResourcesEndingAfter(
+            @Param("resourceIds") Collection<UUID> resourceIds,
+            @Param("statuses") Collection<ReservationStatus> statuses,
+            @Param("now") Instant now);
+
+    boolean existsByIdAndStatusIn(UUID id, Collection<ReservationStatus> statuses);
+
+    /**
+     * Reservations in one of the given statuses on any of the resources that
+     * overlap {@code [from, to)}, ordered by start time.
+     */
+    @Query("""
+            select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime
+            from Reservation r
+            where r.resource.id in :resourceIds
+              and r.status in :statuses
+              and r.endTime > :from
+              and r.startTime < :to
+            order by r.startTime asc
+            """)
+    List<ReservationSpan> findSpansOverlapping(
+            @Param("resourceIds") Collection<UUID> resourceIds,
+            @Param("statuses") Collection<ReservationStatus> statuses,
+            @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    /**
+     * All reservations currently on hold, for rebuilding the expiry queue.
+     */
+    @Query("""
+            select r.id as id, r.resource.id as resourceId, r.holdExpiresAt as holdExpiresAt
+            from Reservation r
+            where r.status = com.smartuniversity.booking.domain.ReservationStatus.HOLD
+            """)
+    List<PendingHold> findPendingHolds();
+
+    /**
+     * Holds on a resource overlapping {@code [from, to)} that have expired by
+     * {@code now} but not been released yet.
+     */
+    @Query("""
+            select r.id as id, r.resource.id as resourceId, r.holdExpiresAt as holdExpiresAt
+            from Reservation r
+            where r.resource.id = :resourceId
+              and r.status = com.smartuniversity.booking.domain.ReservationStatus.HOLD
+              and r.holdExpiresAt <= :now
+              and r.startTime < :to
+              and r.endTime > :from
+            """)
+    List<PendingHold> findExpiredHoldsOverlapping(
+            @Param("resourceId") UUID resourceId,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("now") Instant now);
+
+    /**
+     * Turns a hold into a confirmed reservation unless it has expired by {@code now}.
+     * Returns whether it did.
+     */
+    @Modifying
+    @Query("""
+            update Reservation r
+            set r.status = com.smartuniversity.booking.domain.ReservationStatus.CREATED,
+                r.holdExpiresAt = null,
+                r.updatedAt = :now
+            where r.id = :id
+              and r.status = com.smartuniversity.booking.domain.ReservationStatus.HOLD
+              and r.holdExpiresAt > :now
+            """)
+    int confirmHold(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Releases a hold that has expired by {@code now}. Returns whether it did;
+     * a hold that was confirmed or cancelled in the meantime is left alone.
+     */
+    @Modifying
+    @Query("""
+            update Reservation r
+            set r.status = com.smartuniversity.booking.domain.ReservationStatus.CANCELED,
+                r.updatedAt = :now
+            where r.id = :id
+              and r.status = com.smartuniversity.booking.domain.ReservationStatus.HOLD
+              and r.holdExpiresAt <= :now
+            """)
+    int expireHold(@Param("id") UUID id, @Param("now") Instant now);
 
     /**
      * Find upcoming reservations for a user
@@ -65,4 +188,50 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("userId") UUID userId,
             @Param("status") ReservationStatus status,
             @Param("now") Instant now);
+
+    /**
+     * Id and time span of a reservation.
+     */
+    interface ReservationSpan {
+
+        UUID getId();
+
+        UUID getResourceId();
+
+        Instant getStartTime();
+
+        Instant getEndTime();
+    }
+
+    /**
+     * A reservation as shown in the calendar.
+     */
+    interface CalendarEntry {
+
+        UUID getId();
+
+        UUID getResourceId();
+
+        String getResourceName();
+
+        UUID getUserId();
+
+        Instant getStartTime();
+
+        Instant getEndTime();
+
+        ReservationStatus getStatus();
+    }
+
+    /**
+     * A reservation on hold and when it expires.
+     */
+    interface PendingHold {
+
+        UUID getId();
+
+        UUID getResourceId();
+
+        Instant getHoldExpiresAt();
+    }
 }
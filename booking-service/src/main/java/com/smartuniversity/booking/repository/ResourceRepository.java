@@ -17,6 +17,20 @@ public interface ResourceRepository extends JpaRepository<Resource, UUID> {
 
     Optional<Resource> findByIdAndTenantId(UUID id, String tenantId);
 
+    /**
+     * Resources of a tenant, optionally restricted to a type and a minimum capacity.
+     */
+    @Query("""
+            select r from Resource r
+            where r.tenantId = :tenantId
+              and (cast(:type as String) is null or r.type = :type)
+              and (cast(:minCapacity as Integer) is null or r.capacity >= :minCapacity)
+            """)
+    List<Resource> findMatching(
+            @Param("tenantId") String tenantId,
+            @Param("type") String type,
+            @Param("minCapacity") Integer minCapacity);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
             select r from Resource r
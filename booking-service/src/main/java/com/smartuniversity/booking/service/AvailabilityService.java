@@ -0,0 +1,181 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import com.smartuniversity.booking.domain.Resource;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.ReservationSpan;
+import com.smartuniversity.booking.repository.ResourceRepository;
+import com.smartuniversity.booking.web.dto.AvailabilitySlotDto;
+import com.smartuniversity.booking.web.dto.OccupancyGridDto;
+import com.smartuniversity.booking.web.dto.ResourceOccupancyDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Free-slot search across all resources of a tenant that match a type and
+ * capacity, so clients can pick a time that is known to be free instead of
+ * probing {@code POST /booking/reservations} until it stops returning 409.
+ *
+ * The reservations in the window are read in one query, ordered by start
+ * time, and swept once: each resource keeps the instant it has been free
+ * since, and every reservation starting far enough after that instant closes
+ * a free window.
+ */
+@Service
+public class AvailabilityService {
+
+    // Bounds the sweep for a single request.
+    private static final Duration MAX_WINDOW = Duration.ofDays(31);
+    private static final int MAX_LIMIT = 500;
+    private static final int MAX_GRID_DAYS = 31;
+
+    private static final Comparator<Slot> RANKING = Comparator
+            .comparingLong(Slot::start)
+            // Prefer the smallest room that fits, leaving larger ones for larger groups.
+            .thenComparing(slot -> slot.resource().getCapacity(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(slot -> slot.resource().getName());
+
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+    private final OccupancyGrid occupancyGrid;
+
+    public AvailabilityService(ResourceRepository resourceRepository,
+                               ReservationRepository reservationRepository,
+                               OccupancyGrid occupancyGrid) {
+        this.resourceRepository = resourceRepository;
+        this.reservationRepository = reservationRepository;
+        this.occupancyGrid = occupancyGrid;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AvailabilitySlotDto> findAvailability(String tenantId, String type, Integer minCapacity,
+                                                      Instant from, Instant to, Duration duration, int limit) {
+        if (!to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search window cannot exceed 31 days");
+        }
+        if (duration.compareTo(BookingService.MIN_DURATION) < 0 || duration.compareTo(BookingService.MAX_DURATION) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duration must be between 30 minutes and 24 hours");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        // Reservations can only start in the future.
+        Instant now = Instant.now();
+        Instant windowStart = from.isBefore(now) ? now : from;
+        if (!to.isAfter(windowStart)) {
+            return List.of();
+        }
+
+        List<Resource> resources = resourceRepository.findMatching(tenantId, type, minCapacity);
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Resource> resourcesById = resources.stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+
+        List<ReservationSpan> spans = reservationRepository.findSpansOverlapping(
+                resourcesById.keySet(), ReservationStatus.ACTIVE, windowStart, to);
+
+        List<Slot> slots = sweep(resourcesById, spans, windowStart.toEpochMilli(), to.toEpochMilli(), duration.toMillis());
+        slots.sort(RANKING);
+
+        return slots.stream()
+                .limit(limit)
+                .map(AvailabilityService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Occupancy bitsets of the matching resources for {@code days} UTC days from
+     * {@code from}, read from the in-memory {@link OccupancyGrid}.
+     */
+    @Transactional(readOnly = true)
+    public OccupancyGridDto getOccupancy(String tenantId, String type, LocalDate from, int days) {
+        if (days < 1 || days > MAX_GRID_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Days must be between 1 and " + MAX_GRID_DAYS);
+        }
+        if (from.isBefore(LocalDate.now(ZoneOffset.UTC).minusDays(OccupancyGrid.HISTORY_DAYS))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Occupancy is only kept for the last " + OccupancyGrid.HISTORY_DAYS + " days");
+        }
+
+        List<Resource> resources = resourceRepository.findMatching(tenantId, type, null);
+        Map<UUID, byte[]> occupancy = occupancyGrid.occupancy(
+                resources.stream().map(Resource::getId).toList(), from, days);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<ResourceOccupancyDto> rows = new ArrayList<>();
+        for (Resource resource : resources) {
+            byte[] bits = occupancy.get(resource.getId());
+            rows.add(new ResourceOccupancyDto(resource.getId(), resource.getName(), encoder.encodeToString(bits)));
+        }
+        rows.sort(Comparator.comparing(ResourceOccupancyDto::getResourceName));
+        return new OccupancyGridDto(from, days, OccupancyGrid.SLOT_MINUTES, OccupancyGrid.BYTES_PER_DAY, rows);
+    }
+
+    /**
+     * Free windows of at least {@code durationMillis} within {@code [fromMillis, toMillis)}.
+     * {@code spans} must be ordered by start time.
+     */
+    static List<Slot> sweep(Map<UUID, Resource> resourcesById, List<ReservationSpan> spans,
+                            long fromMillis, long toMillis, long durationMillis) {
+        Map<UUID, Long> freeSince = new HashMap<>(resourcesById.size() * 2);
+        for (UUID resourceId : resourcesById.keySet()) {
+            freeSince.put(resourceId, fromMillis);
+        }
+
+        List<Slot> slots = new ArrayList<>();
+        for (ReservationSpan span : spans) {
+            Long cursor = freeSince.get(span.getResourceId());
+            if (cursor == null) {
+                continue;
+            }
+            long start = span.getStartTime().toEpochMilli();
+            if (start - cursor >= durationMillis) {
+                slots.add(new Slot(resourcesById.get(span.getResourceId()), cursor, start));
+            }
+            freeSince.put(span.getResourceId(), Math.max(cursor, span.getEndTime().toEpochMilli()));
+        }
+
+        for (Map.Entry<UUID, Long> entry : freeSince.entrySet()) {
+            if (toMillis - entry.getValue() >= durationMillis) {
+                slots.add(new Slot(resourcesById.get(entry.getKey()), entry.getValue(), toMillis));
+            }
+        }
+        return slots;
+    }
+
+    private static AvailabilitySlotDto toDto(Slot slot) {
+        Resource resource = slot.resource();
+        return new AvailabilitySlotDto(
+                resource.getId(),
+                resource.getName(),
+                resource.getType(),
+                resource.getCapacity(),
+                Instant.ofEpochMilli(slot.start()),
+                Instant.ofEpochMilli(slot.end()));
+    }
+
+    record Slot(Resource resource, long start, long end) {
+    }
+}
@@ -9,15 +9,21 @@ import com.smartuniversity.booking.web.dto.CreateReservationRequest;
 import com.smartuniversity.booking.web.dto.CreateResourceRequest;
 import com.smartuniversity.booking.web.dto.ReservationDto;
 import com.smartuniversity.booking.web.dto.ResourceDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,17 +39,32 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     // Maximum reservation duration: 24 hours
-    private static final Duration MAX_DURATION = Duration.ofHours(24);
+    static final Duration MAX_DURATION = Duration.ofHours(24);
     // Minimum reservation duration: 30 minutes
-    private static final Duration MIN_DURATION = Duration.ofMinutes(30);
+    static final Duration MIN_DURATION = Duration.ofMinutes(30);
 
     private final ResourceRepository resourceRepository;
     private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex reservationIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final Duration holdTtl;
+    private final TransactionTemplate transactionTemplate;
 
     public BookingService(ResourceRepository resourceRepository,
-                          ReservationRepository reservationRepository) {
+                          ReservationRepository reservationRepository,
+                          ReservationIntervalIndex reservationIndex,
+                          OccupancyGrid occupancyGrid,
+                          HoldExpiryQueue holdExpiryQueue,
+                          @Value("${booking.holds.ttl:10m}") Duration holdTtl,
+                          PlatformTransactionManager transactionManager) {
         this.resourceRepository = resourceRepository;
         this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.occupancyGrid = occupancyGrid;
+        this.holdExpiryQueue = holdExpiryQueue;
+        this.holdTtl = holdTtl;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
@@ -65,48 +86,77 @@ public class BookingService {
         return toResourceDto(saved);
     }
 
-    @Transactional
     public ReservationDto createReservation(CreateReservationRequest request, UUID userId, String tenantId) {
-        // Validate times
-        if (request.getStartTime() == null || request.getEndTime() == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start and end times are required");
-        }
+        return bookReleasingExpiredHolds(request,
+                () -> book(request, userId, tenantId, ReservationStatus.CREATED, null));
+    }
 
-        // Validate end time is after start time
-        if (!request.getEndTime().isAfter(request.getStartTime())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End time must be after start time");
+    /**
+     * Reserves the slot for {@code booking.holds.ttl} while the user confirms.
+     * The hold blocks the slot like a reservation and is released automatically
+     * unless {@link #confirmHold confirmed} in time.
+     */
+    public ReservationDto createHold(CreateReservationRequest request, UUID userId, String tenantId) {
+        return bookReleasingExpiredHolds(request, () -> {
+            Instant expiresAt = Instant.now().plus(holdTtl);
+            ReservationDto hold = book(request, userId, tenantId, ReservationStatus.HOLD, expiresAt);
+            holdExpiryQueue.scheduleAfterCommit(hold.getId(), hold.getResourceId(), expiresAt);
+            return hold;
+        });
+    }
+
+    /**
+     * Runs the booking in a transaction and, if the slot is taken, releases any
+     * expired holds in the way and tries once more. Those are holds whose
+     * instance went away before it could release them. The retry needs a new
+     * transaction, since PostgreSQL aborts the first one on the constraint
+     * violation.
+     */
+    private ReservationDto bookReleasingExpiredHolds(CreateReservationRequest request,
+                                                     Supplier<ReservationDto> booking) {
+        try {
+            return transactionTemplate.execute(status -> booking.get());
+        } catch (ResponseStatusException ex) {
+            if (ex.getStatusCode() != HttpStatus.CONFLICT
+                    || holdExpiryQueue.releaseExpired(
+                            request.getResourceId(), request.getStartTime(), request.getEndTime()) == 0) {
+                throw ex;
+            }
         }
+        return transactionTemplate.execute(status -> booking.get());
+    }
 
-        // Validate duration constraints
-        Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
-        if (duration.compareTo(MIN_DURATION) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
-                "Reservation must be at least 30 minutes");
+    @Transactional
+    public ReservationDto confirmHold(UUID reservationId, UUID userId, String tenantId) {
+        Reservation reservation = reservationRepository.findByIdAndTenantId(reservationId, tenantId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
+
+        if (!reservation.getUserId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only confirm your own holds");
         }
-        if (duration.compareTo(MAX_DURATION) > 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
-                "Reservation cannot exceed 24 hours");
+        if (reservation.getStatus() != ReservationStatus.HOLD) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation is not on hold");
         }
 
-        // Validate start time is in the future
-        if (request.getStartTime().isBefore(Instant.now())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
-                "Start time must be in the future");
+        // Conditional, so a hold that expires concurrently cannot be confirmed after release.
+        if (reservationRepository.confirmHold(reservationId, Instant.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The hold has expired. Please book again.");
         }
+        reservation.setStatus(ReservationStatus.CREATED);
+        reservation.setHoldExpiresAt(null);
+        return toReservationDto(reservation);
+    }
+
+    private ReservationDto book(CreateReservationRequest request, UUID userId, String tenantId,
+                                ReservationStatus status, Instant holdExpiresAt) {
+        validateTimeRange(request.getStartTime(), request.getEndTime());
 
         // Find resource
         Resource resource = resourceRepository.findByIdAndTenantId(request.getResourceId(), tenantId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Resource not found"));
 
-        // Check for overlapping reservations with pessimistic locking
-        List<Reservation> overlapping = reservationRepository.findOverlappingReservationsForUpdate(
-                request.getResourceId(),
-                tenantId,
-                ReservationStatus.CREATED,
-                request.getStartTime(),
-                request.getEndTime());
-
-        if (!overlapping.isEmpty()) {
+        // Most conflicts are answered by the in-memory index without touching the table
+        if (reservationIndex.hasConflict(resource.getId(), request.getStartTime(), request.getEndTime())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, 
                 "This time slot is already booked. Please choose another time.");
         }
@@ -118,9 +168,23 @@ public class BookingService {
         reservation.setTenantId(tenantId);
         reservation.setStartTime(request.getStartTime());
         reservation.setEndTime(request.getEndTime());
-        reservation.setStatus(ReservationStatus.CREATED);
+        reservation.setStatus(status);
+        reservation.setHoldExpiresAt(holdExpiresAt);
 
-        Reservation saved = reservationRepository.save(reservation);
+        // The reservations_no_overlap exclusion constraint is the final arbiter:
+        // concurrent requests for the same slot race on the insert, not on row locks.
+        Reservation saved;
+        try {
+            saved = reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, 
+                    "This time slot is already booked. Please choose another time.");
+            }
+            throw ex;
+        }
+        reservationIndex.addAfterCommit(resource.getId(), saved.getId(), saved.getStartTime(), saved.getEndTime());
+        occupancyGrid.addAfterCommit(resource.getId(), saved.getId(), saved.getStartTime(), saved.getEndTime());
         return toReservationDto(saved);
     }
 
@@ -141,6 +205,53 @@ public class BookingService {
 
         reservation.setStatus(ReservationStatus.CANCELED);
         reservationRepository.save(reservation);
+        reservationIndex.removeAfterCommit(reservation.getResource().getId(), reservation.getId());
+        occupancyGrid.removeAfterCommit(reservation.getResource().getId(), reservation.getId());
+    }
+
+    /**
+     * Rejects missing, inverted, too short, too long or past time ranges with 400.
+     */
+    static void validateTimeRange(Instant startTime, Instant endTime) {
+        // Validate times
+        if (startTime == null || endTime == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start and end times are required");
+        }
+
+        // Validate end time is after start time
+        if (!endTime.isAfter(startTime)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End time must be after start time");
+        }
+
+        // Validate duration constraints
+        Duration duration = Duration.between(startTime, endTime);
+        if (duration.compareTo(MIN_DURATION) < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                "Reservation must be at least 30 minutes");
+        }
+        if (duration.compareTo(MAX_DURATION) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                "Reservation cannot exceed 24 hours");
+        }
+
+        // Validate start time is in the future
+        if (startTime.isBefore(Instant.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                "Start time must be in the future");
+        }
+    }
+
+    /**
+     * Whether the violation is PostgreSQL's exclusion_violation (SQLSTATE 23P01),
+     * which only the reservations_no_overlap constraint can raise.
+     */
+    static boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23P01".equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private ResourceDto toResourceDto(Resource resource) {
@@ -156,7 +267,7 @@ public class BookingService {
      * FIX #8: Updated to include resourceName
      */
     private ReservationDto toReservationDto(Reservation reservation) {
-        return new ReservationDto(
+        ReservationDto dto = new ReservationDto(
                 reservation.getId(),
                 reservation.getResource().getId(),
                 reservation.getResource().getName(),  // FIX #8: Added resourceName
@@ -165,5 +276,7 @@ public class BookingService {
                 reservation.getEndTime(),
                 reservation.getStatus()
         );
+        dto.setHoldExpiresAt(reservation.getHoldExpiresAt());
+        return dto;
     }
 }
@@ -0,0 +1,167 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.PendingHold;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases reservation holds when they expire.
+ *
+ * Each hold sits in an in-process {@link DelayQueue} until its expiry, and a
+ * single worker thread releases it then, so no job polls the reservations
+ * table. The queue only holds what this instance created, rebuilt from the
+ * database on startup. A hold whose instance went away stays in the table past
+ * its expiry, so a booking that conflicts with it releases it through
+ * {@link #releaseExpired} and tries again. Releasing is a conditional update,
+ * so a hold that was confirmed or cancelled first, or that another instance
+ * already released, is left alone.
+ */
+@Component
+public class HoldExpiryQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryQueue.class);
+
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex reservationIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final TransactionTemplate transactionTemplate;
+    private final DelayQueue<PendingExpiry> queue = new DelayQueue<>();
+
+    private volatile Thread worker;
+
+    public HoldExpiryQueue(ReservationRepository reservationRepository,
+                           ReservationIntervalIndex reservationIndex,
+                           OccupancyGrid occupancyGrid,
+                           PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.occupancyGrid = occupancyGrid;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schedules the release of a new hold once the current transaction commits.
+     */
+    public void scheduleAfterCommit(UUID reservationId, UUID resourceId, Instant expiresAt) {
+        PendingExpiry expiry = new PendingExpiry(reservationId, resourceId, expiresAt.toEpochMilli());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.add(expiry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.add(expiry);
+            }
+        });
+    }
+
+    /**
+     * Releases the expired holds on a resource that overlap {@code [from, to)},
+     * in a transaction of its own. Returns how many it released.
+     */
+    public int releaseExpired(UUID resourceId, Instant from, Instant to) {
+        Integer released = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            int count = 0;
+            for (PendingHold hold : reservationRepository.findExpiredHoldsOverlapping(resourceId, from, to, now)) {
+                if (reservationRepository.expireHold(hold.getId(), now) > 0) {
+                    reservationIndex.removeAfterCommit(resourceId, hold.getId());
+                    occupancyGrid.removeAfterCommit(resourceId, hold.getId());
+                    count++;
+                }
+            }
+            return count;
+        });
+        return released != null ? released : 0;
+    }
+
+    /**
+     * Holds waiting to expire.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        for (PendingHold hold : reservationRepository.findPendingHolds()) {
+            queue.add(new PendingExpiry(hold.getId(), hold.getResourceId(), hold.getHoldExpiresAt().toEpochMilli()));
+        }
+        logger.info("Loaded {} pending reservation holds", queue.size());
+
+        Thread thread = new Thread(this::run, "hold-expiry");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            PendingExpiry expiry;
+            try {
+                expiry = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                release(expiry);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not release hold {}, retrying later", expiry.reservationId(), ex);
+                queue.add(new PendingExpiry(expiry.reservationId(), expiry.resourceId(),
+                        System.currentTimeMillis() + RETRY_DELAY_MILLIS));
+            }
+        }
+    }
+
+    private void release(PendingExpiry expiry) {
+        Integer released = transactionTemplate.execute(
+                status -> reservationRepository.expireHold(expiry.reservationId(), Instant.now()));
+        if (released != null && released > 0) {
+            reservationIndex.removeAfterCommit(expiry.resourceId(), expiry.reservationId());
+            occupancyGrid.removeAfterCommit(expiry.resourceId(), expiry.reservationId());
+        }
+    }
+
+    private record PendingExpiry(UUID reservationId, UUID resourceId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((PendingExpiry) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.ReservationSpan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-resource occupancy in 15-minute UTC slots, for calendar grids that only
+ * need to know which slots are taken.
+ *
+ * Each resource day keeps a counter per slot of the active reservations
+ * touching it, so that cancelling one of two reservations sharing a slot
+ * leaves it occupied. Resources are loaded on first use, all missing ones of a
+ * grid in one query, limited to reservations that ended at most
+ * {@link #HISTORY_DAYS} days ago, and updated after each create or cancel
+ * commits, so reads never scan the reservations table.
+ *
+ * Only changes made on this instance are applied as they happen; bookings made
+ * through other instances show up when a resource is reloaded, after
+ * {@code booking.occupancy-grid.reload-interval}.
+ */
+@Component
+public class OccupancyGrid {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int BYTES_PER_DAY = SLOTS_PER_DAY / Byte.SIZE;
+    public static final int HISTORY_DAYS = 7;
+
+    /**
+     * Resources loaded per query, well below the bind parameter limit.
+     */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private static final long SLOT_MILLIS = Duration.ofMinutes(SLOT_MINUTES).toMillis();
+
+    private final ReservationRepository reservationRepository;
+    private final long reloadIntervalMillis;
+    private final Map<UUID, ResourceOccupancy> resources = new ConcurrentHashMap<>();
+
+    public OccupancyGrid(ReservationRepository reservationRepository,
+                         @Value("${booking.occupancy-grid.reload-interval:1m}") Duration reloadInterval) {
+        this.reservationRepository = reservationRepository;
+        this.reloadIntervalMillis = reloadInterval.toMillis();
+    }
+
+    /**
+     * Occupancy of each resource for {@code days} UTC days starting at {@code from}:
+     * {@link #BYTES_PER_DAY} bytes per day, where slot {@code i} of day {@code d}
+     * is bit {@code i % 8} (least significant first) of byte {@code d * 12 + i / 8}.
+     * Resources that are missing or due for a reload are loaded together.
+     */
+    public Map<UUID, byte[]> occupancy(Collection<UUID> resourceIds, LocalDate from, int days) {
+        Map<UUID, ResourceOccupancy> loaded = occupancyFor(resourceIds);
+        Map<UUID, byte[]> result = new HashMap<>();
+        for (UUID resourceId : resourceIds) {
+            byte[] bits = new byte[days * BYTES_PER_DAY];
+            loaded.get(resourceId).write(from.toEpochDay(), days, bits);
+            result.put(resourceId, bits);
+        }
+        return result;
+    }
+
+    /**
+     * Marks a new reservation's slots once the current transaction commits.
+     */
+    public void addAfterCommit(UUID resourceId, UUID reservationId, Instant start, Instant end) {
+        afterCommit(() -> {
+            ResourceOccupancy occupancy = resources.get(resourceId);
+            // Not loaded yet: the reservation will be read from the database on first use.
+            if (occupancy != null) {
+                occupancy.add(reservationId, start.toEpochMilli(), end.toEpochMilli());
+            }
+        });
+    }
+
+    /**
+     * Releases a reservation's slots once the current transaction commits.
+     */
+    public void removeAfterCommit(UUID resourceId, UUID reservationId) {
+        afterCommit(() -> {
+            ResourceOccupancy occupancy = resources.get(resourceId);
+            if (occupancy != null) {
+                occupancy.remove(reservationId);
+            }
+        });
+    }
+
+    private Map<UUID, ResourceOccupancy> occupancyFor(Collection<UUID> resourceIds) {
+        long now = System.currentTimeMillis();
+        Map<UUID, ResourceOccupancy> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID resourceId : resourceIds) {
+            ResourceOccupancy occupancy = resources.get(resourceId);
+            if (occupancy != null && now < occupancy.loadedAtMillis + reloadIntervalMillis) {
+                result.put(resourceId, occupancy);
+            } else {
+                missing.add(resourceId);
+            }
+        }
+
+        Instant since = LocalDate.now(ZoneOffset.UTC).minusDays(HISTORY_DAYS).atStartOfDay(ZoneOffset.UTC).toInstant();
+        for (int i = 0; i < missing.size(); i += LOAD_BATCH_SIZE) {
+            List<UUID> batch = missing.subList(i, Math.min(i + LOAD_BATCH_SIZE, missing.size()));
+            Map<UUID, ResourceOccupancy> loaded = new HashMap<>();
+            for (UUID resourceId : batch) {
+                loaded.put(resourceId, new ResourceOccupancy(now));
+            }
+            for (ReservationSpan span : reservationRepository.findSpansOfResourcesEndingAfter(
+                    batch, ReservationStatus.ACTIVE, since)) {
+                loaded.get(span.getResourceId())
+                        .add(span.getId(), span.getStartTime().toEpochMilli(), span.getEndTime().toEpochMilli());
+            }
+            resources.putAll(loaded);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Slot counters of one resource, guarded by the instance monitor.
+     */
+    private static final class ResourceOccupancy {
+
+        private final long loadedAtMillis;
+        private final Map<UUID, long[]> spansById = new HashMap<>();
+        private final Map<Long, short[]> countsByDay = new HashMap<>();
+
+        ResourceOccupancy(long loadedAtMillis) {
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        synchronized void add(UUID id, long start, long end) {
+            long[] span = {start, end};
+            if (spansById.putIfAbsent(id, span) == null) {
+                count(span, 1);
+            }
+        }
+
+        synchronized void remove(UUID id) {
+            long[] span = spansById.remove(id);
+            if (span != null) {
+                count(span, -1);
+            }
+        }
+
+        synchronized void write(long fromDay, int days, byte[] target) {
+            for (int day = 0; day < days; day++) {
+                short[] counts = countsByDay.get(fromDay + day);
+                if (counts == null) {
+                    continue;
+                }
+                int offset = day * BYTES_PER_DAY;
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    if (counts[slot] > 0) {
+                        target[offset + slot / Byte.SIZE] |= (byte) (1 << (slot % Byte.SIZE));
+                    }
+                }
+            }
+        }
+
+        private void count(long[] span, int delta) {
+            // [start, end) touches every slot from the one holding start to the one holding end - 1.
+            long lastSlot = Math.floorDiv(span[1] - 1, SLOT_MILLIS);
+            for (long slot = Math.floorDiv(span[0], SLOT_MILLIS); slot <= lastSlot; slot++) {
+                long day = Math.floorDiv(slot, SLOTS_PER_DAY);
+                short[] counts = countsByDay.computeIfAbsent(day, d -> new short[SLOTS_PER_DAY]);
+                counts[(int) Math.floorMod(slot, SLOTS_PER_DAY)] += delta;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.smartuniversity.booking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the {@code reservations} table down to current data by moving
+ * reservations that ended more than {@code booking.archive.horizon} ago,
+ * whether they were used or canceled, to {@code reservations_archive}.
+ *
+ * Rows are moved in chunks of {@code booking.archive.batch-size}, each copied
+ * and deleted in its own short transaction, so a large backlog never holds
+ * locks on many rows at once. Overlap checks and the availability index only
+ * look at reservations that have not ended and never need the archive;
+ * {@link ReservationCalendarService} merges it into historical reads.
+ */
+@Component
+public class ReservationArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private static final String COLUMNS =
+            "id, resource_id, tenant_id, user_id, start_time, end_time, status, series_id, created_at, updated_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int batchSize;
+
+    public ReservationArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${booking.archive.enabled:true}") boolean enabled,
+                               @Value("${booking.archive.horizon:90d}") Duration horizon,
+                               @Value("${booking.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${booking.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${booking.archive.interval-ms:3600000}")
+    public void archiveEndedReservations() {
+        if (!enabled) {
+            return;
+        }
+        int moved = archive(Instant.now());
+        if (moved > 0) {
+            logger.info("Archived {} reservations that ended before {}", moved, archivedBefore(Instant.now()));
+        }
+    }
+
+    /**
+     * Moves every reservation that ended before {@code now} minus the horizon
+     * and returns how many were moved.
+     */
+    public int archive(Instant now) {
+        Instant cutoff = archivedBefore(now);
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff, now));
+            total += moved;
+            if (moved < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Reservations that ended before this instant may be in the archive.
+     */
+    public Instant archivedBefore(Instant now) {
+        return now.minus(horizon);
+    }
+
+    private int moveBatch(Instant cutoff, Instant now) {
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "select id from reservations where end_time < :cutoff order by end_time limit :limit",
+                new MapSqlParameterSource()
+                        .addValue("cutoff", cutoff.atOffset(ZoneOffset.UTC))
+                        .addValue("limit", batchSize),
+                UUID.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", now.atOffset(ZoneOffset.UTC));
+        jdbcTemplate.update(
+                "insert into reservations_archive (" + COLUMNS + ", archived_at) "
+                        + "select " + COLUMNS + ", :archivedAt from reservations where id in (:ids)",
+                params);
+        jdbcTemplate.update("delete from reservations where id in (:ids)", params);
+        return ids.size();
+    }
+}
@@ -0,0 +1,249 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.Reservation;
+import com.smartuniversity.booking.repository.ArchivedReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.CalendarEntry;
+import com.smartuniversity.booking.web.dto.ReservationDto;
+import com.smartuniversity.booking.web.dto.ReservationPageDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reservation calendar for a time window, read with keyset pagination on
+ * {@code (startTime, id)}: each page is an index range scan that resumes after
+ * the last row of the previous one, so its cost depends on the page size and
+ * not on how much history precedes it. Resource names are joined into the same
+ * query.
+ *
+ * Reads include reservations moved to the archive by {@link ReservationArchiver};
+ * the archive is only queried when the window reaches back far enough. Both
+ * tables are read in one repeatable-read transaction, so a batch the archiver
+ * moves in between is seen on one side only. Rows are also de-duplicated by id
+ * when merging, in case the database gives each statement its own snapshot.
+ */
+@Service
+public class ReservationCalendarService {
+
+    private static final Duration MAX_WINDOW = Duration.ofDays(31);
+    private static final int MAX_LIMIT = 1000;
+    private static final int STREAM_CHUNK = 500;
+
+    // Keyset position before every reservation in a window; see firstPosition.
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    // Calendar order. PostgreSQL orders uuids by their unsigned bytes, which is
+    // the order of their canonical strings and not that of UUID.compareTo.
+    private static final Comparator<CalendarEntry> CALENDAR_ORDER = Comparator
+            .comparing(CalendarEntry::getStartTime)
+            .thenComparing(entry -> entry.getId().toString());
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ReservationArchiver archiver;
+
+    private final TransactionTemplate snapshotTemplate;
+
+    public ReservationCalendarService(ReservationRepository reservationRepository,
+                                      ArchivedReservationRepository archivedReservationRepository,
+                                      ReservationArchiver archiver,
+                                      PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.archiver = archiver;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * All reservations of a tenant, or of one of its users. A user's list includes
+     * their archived reservations; the tenant-wide list only reads the current
+     * table, since the archive of a whole tenant is unbounded. Older tenant
+     * history is available a window at a time through {@link #findPage}.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<ReservationDto> listReservations(String tenantId, UUID userId) {
+        List<Reservation> current = userId != null
+                ? reservationRepository.findAllByTenantIdAndUserId(tenantId, userId)
+                : reservationRepository.findAllByTenantId(tenantId);
+        List<CalendarEntry> archived = userId != null
+                ? archivedReservationRepository.findEntriesByUser(tenantId, userId)
+                : List.of();
+
+        List<ReservationDto> reservations = new ArrayList<>(current.size() + archived.size());
+        Set<UUID> currentIds = new HashSet<>();
+        for (Reservation reservation : current) {
+            currentIds.add(reservation.getId());
+            reservations.add(new ReservationDto(
+                    reservation.getId(),
+                    reservation.getResource().getId(),
+                    reservation.getResource().getName(),
+                    reservation.getUserId(),
+                    reservation.getStartTime(),
+                    reservation.getEndTime(),
+                    reservation.getStatus()
+            ));
+        }
+        for (CalendarEntry entry : archived) {
+            if (!currentIds.contains(entry.getId())) {
+                reservations.add(toDto(entry));
+            }
+        }
+        return reservations;
+    }
+
+    /**
+     * Rejects inverted or over-long windows with 400.
+     */
+    public void checkWindow(Instant from, Instant to) {
+        if (!to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Calendar window cannot exceed 31 days");
+        }
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ReservationPageDto findPage(String tenantId, Instant from, Instant to, UUID resourceId, UUID userId,
+                                       String after, int limit) {
+        checkWindow(from, to);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Position position = after != null ? decode(after) : firstPosition(from);
+        // One extra row tells whether there is a next page.
+        List<CalendarEntry> entries = fetch(tenantId, from, to, position, resourceId, userId, limit + 1);
+
+        boolean hasMore = entries.size() > limit;
+        List<ReservationDto> reservations = new ArrayList<>(Math.min(entries.size(), limit));
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            reservations.add(toDto(entries.get(i)));
+        }
+        String nextCursor = hasMore ? encode(reservations.get(reservations.size() - 1)) : null;
+        return new ReservationPageDto(reservations, nextCursor);
+    }
+
+    /**
+     * Hands every reservation in the window to {@code sink} in calendar order,
+     * reading one page at a time so that only a page is held in memory. Each
+     * page is read in its own short transaction rather than one spanning the
+     * whole export.
+     */
+    public void stream(String tenantId, Instant from, Instant to, UUID resourceId, UUID userId,
+                       Consumer<ReservationDto> sink) {
+        checkWindow(from, to);
+        Position position = firstPosition(from);
+        while (true) {
+            Position page = position;
+            List<CalendarEntry> entries = snapshotTemplate.execute(
+                    status -> fetch(tenantId, from, to, page, resourceId, userId, STREAM_CHUNK));
+            for (CalendarEntry entry : entries) {
+                sink.accept(toDto(entry));
+            }
+            if (entries.size() < STREAM_CHUNK) {
+                return;
+            }
+            CalendarEntry last = entries.get(entries.size() - 1);
+            position = new Position(last.getStartTime(), last.getId());
+        }
+    }
+
+    /**
+     * Up to {@code count} entries after {@code position}, merged from the
+     * current table and, if the window reaches back that far, the archive.
+     * Must run in a transaction that reads both from one snapshot.
+     */
+    private List<CalendarEntry> fetch(String tenantId, Instant from, Instant to, Position position,
+                                      UUID resourceId, UUID userId, int count) {
+        List<CalendarEntry> current = reservationRepository.findCalendarPage(
+                tenantId, from, to, position.startTime(), position.id(), resourceId, userId,
+                PageRequest.of(0, count));
+        if (!from.isBefore(archiver.archivedBefore(Instant.now()))) {
+            return current;
+        }
+        List<CalendarEntry> archived = archivedReservationRepository.findCalendarPage(
+                tenantId, from, to, position.startTime(), position.id(), resourceId, userId,
+                PageRequest.of(0, count));
+        if (archived.isEmpty()) {
+            return current;
+        }
+
+        List<CalendarEntry> merged = new ArrayList<>(Math.min(count, current.size() + archived.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < count && (i < current.size() || j < archived.size())) {
+            int order = j == archived.size() ? -1
+                    : i == current.size() ? 1
+                    : CALENDAR_ORDER.compare(current.get(i), archived.get(j));
+            if (order == 0 && current.get(i).getId().equals(archived.get(j).getId())) {
+                // Seen in both tables mid-move: keep the current row only.
+                j++;
+            } else if (order <= 0) {
+                merged.add(current.get(i++));
+            } else {
+                merged.add(archived.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * A reservation overlapping the window ends after {@code from} and lasts at
+     * most {@link BookingService#MAX_DURATION}, so it starts after this position.
+     */
+    private static Position firstPosition(Instant from) {
+        return new Position(from.minus(BookingService.MAX_DURATION), MIN_ID);
+    }
+
+    private static String encode(ReservationDto last) {
+        String position = last.getStartTime() + "," + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = position.indexOf(',');
+            return new Position(Instant.parse(position.substring(0, comma)), UUID.fromString(position.substring(comma + 1)));
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static ReservationDto toDto(CalendarEntry entry) {
+        return new ReservationDto(
+                entry.getId(),
+                entry.getResourceId(),
+                entry.getResourceName(),
+                entry.getUserId(),
+                entry.getStartTime(),
+                entry.getEndTime(),
+                entry.getStatus()
+        );
+    }
+
+    private record Position(Instant startTime, UUID id) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.ReservationSpan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the active ({@code CREATED} or {@code HOLD}) reservations of each resource,
+ * used to reject conflicting bookings without scanning the reservations table.
+ *
+ * A resource's intervals are loaded on first use, limited to reservations that
+ * have not ended yet, and reloaded after {@code booking.availability-index.reload-interval}
+ * so that past reservations drop out. Creates and cancels are applied after
+ * their transaction commits.
+ *
+ * The index only answers "is there a conflict": a hit is confirmed by primary
+ * key before it is reported, so an entry made stale by another instance cannot
+ * cause a wrong 409, and a miss still has to get past the database's
+ * exclusion constraint on insert, which remains the final arbiter.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final long reloadIntervalMillis;
+    private final Map<UUID, ResourceIntervals> resources = new ConcurrentHashMap<>();
+
+    public ReservationIntervalIndex(ReservationRepository reservationRepository,
+                                    @Value("${booking.availability-index.reload-interval:1h}") Duration reloadInterval) {
+        this.reservationRepository = reservationRepository;
+        this.reloadIntervalMillis = reloadInterval.toMillis();
+    }
+
+    /**
+     * Whether an active reservation of the resource overlaps {@code [start, end)}.
+     */
+    public boolean hasConflict(UUID resourceId, Instant start, Instant end) {
+        ResourceIntervals intervals = intervalsFor(resourceId);
+        while (true) {
+            UUID candidate = intervals.findOverlap(start.toEpochMilli(), end.toEpochMilli());
+            if (candidate == null) {
+                return false;
+            }
+            if (reservationRepository.existsByIdAndStatusIn(candidate, ReservationStatus.ACTIVE)) {
+                return true;
+            }
+            intervals.remove(candidate);
+        }
+    }
+
+    /**
+     * Records a new reservation once the current transaction commits.
+     */
+    public void addAfterCommit(UUID resourceId, UUID reservationId, Instant start, Instant end) {
+        afterCommit(() -> {
+            ResourceIntervals intervals = resources.get(resourceId);
+            // Not loaded yet: the reservation will be read from the database on first use.
+            if (intervals != null) {
+                intervals.add(reservationId, start.toEpochMilli(), end.toEpochMilli());
+            }
+        });
+    }
+
+    /**
+     * Forgets a reservation once the current transaction commits.
+     */
+    public void removeAfterCommit(UUID resourceId, UUID reservationId) {
+        afterCommit(() -> {
+            ResourceIntervals intervals = resources.get(resourceId);
+            if (intervals != null) {
+                intervals.remove(reservationId);
+            }
+        });
+    }
+
+    private ResourceIntervals intervalsFor(UUID resourceId) {
+        long now = System.currentTimeMillis();
+        ResourceIntervals intervals = resources.get(resourceId);
+        if (intervals != null && now < intervals.loadedAtMillis + reloadIntervalMillis) {
+            return intervals;
+        }
+
+        // Loaded outside the map's locks. Bookings committed while loading are at
+        // worst missing from the index, which the database check still catches.
+        List<ReservationSpan> spans = reservationRepository.findSpansEndingAfter(
+                resourceId, ReservationStatus.ACTIVE, Instant.ofEpochMilli(now));
+        ResourceIntervals loaded = new ResourceIntervals(now);
+        for (ReservationSpan span : spans) {
+            loaded.add(span.getId(), span.getStartTime().toEpochMilli(), span.getEndTime().toEpochMilli());
+        }
+        resources.put(resourceId, loaded);
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Intervals of one resource, guarded by the instance monitor.
+     */
+    private static final class ResourceIntervals {
+
+        private final long loadedAtMillis;
+        private final IntervalTree tree = new IntervalTree();
+        private final Map<UUID, Long> startsById = new HashMap<>();
+
+        ResourceIntervals(long loadedAtMillis) {
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        synchronized void add(UUID id, long start, long end) {
+            if (startsById.putIfAbsent(id, start) == null) {
+                tree.insert(id, start, end);
+            }
+        }
+
+        synchronized void remove(UUID id) {
+            Long start = startsById.remove(id);
+            if (start != null) {
+                tree.remove(id, start);
+            }
+        }
+
+        synchronized UUID findOverlap(long start, long end) {
+            return tree.findOverlap(start, end);
+        }
+    }
+}
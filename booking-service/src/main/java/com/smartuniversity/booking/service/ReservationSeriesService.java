@@ -0,0 +1,217 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import com.smartuniversity.booking.domain.Resource;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.ReservationSpan;
+import com.smartuniversity.booking.repository.ResourceRepository;
+import com.smartuniversity.booking.web.dto.CreateReservationSeriesRequest;
+import com.smartuniversity.booking.web.dto.ReservationDto;
+import com.smartuniversity.booking.web.dto.ReservationSeriesDto;
+import com.smartuniversity.booking.web.dto.SeriesConflictDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Books recurring reservations, e.g. a weekly lab for a whole semester, in one
+ * request.
+ *
+ * All occurrences are checked against the resource's existing reservations
+ * with a single range query and one merge pass, and the free ones are inserted
+ * as one JDBC batch in the same transaction. The exclusion constraint still
+ * guards against reservations created concurrently.
+ */
+@Service
+public class ReservationSeriesService {
+
+    static final int MAX_OCCURRENCES = 60;
+
+    private static final String INSERT_SQL = """
+            insert into reservations
+              (id, resource_id, tenant_id, user_id, start_time, end_time, status, series_id, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex reservationIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationSeriesService(ResourceRepository resourceRepository,
+                                    ReservationRepository reservationRepository,
+                                    ReservationIntervalIndex reservationIndex,
+                                    OccupancyGrid occupancyGrid,
+                                    JdbcTemplate jdbcTemplate) {
+        this.resourceRepository = resourceRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.occupancyGrid = occupancyGrid;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Books the series. Unless {@code skipConflicts} is set, nothing is booked
+     * when any occurrence conflicts; either way every conflict is reported.
+     */
+    @Transactional
+    public ReservationSeriesDto createSeries(CreateReservationSeriesRequest request, UUID userId, String tenantId) {
+        BookingService.validateTimeRange(request.getStartTime(), request.getEndTime());
+        if (request.getCount() == null && request.getUntil() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Either count or until is required");
+        }
+
+        List<Occurrence> occurrences = expand(request, zoneOf(request.getTimeZone()));
+        if (occurrences.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The series has no occurrences");
+        }
+
+        Resource resource = resourceRepository.findByIdAndTenantId(request.getResourceId(), tenantId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Resource not found"));
+
+        List<ReservationSpan> existing = reservationRepository.findSpansOverlapping(
+                List.of(resource.getId()),
+                ReservationStatus.ACTIVE,
+                occurrences.get(0).start(),
+                occurrences.get(occurrences.size() - 1).end());
+
+        List<Occurrence> free = new ArrayList<>();
+        List<SeriesConflictDto> conflicts = new ArrayList<>();
+        findConflicts(occurrences, existing, free, conflicts);
+
+        if (free.isEmpty() || (!conflicts.isEmpty() && !request.isSkipConflicts())) {
+            return new ReservationSeriesDto(null, List.of(), conflicts);
+        }
+
+        UUID seriesId = UUID.randomUUID();
+        List<ReservationDto> created = insert(resource, free, seriesId, userId, tenantId);
+        return new ReservationSeriesDto(seriesId, created, conflicts);
+    }
+
+    /**
+     * Occurrences in start order, keeping the first occurrence's local time and length.
+     */
+    static List<Occurrence> expand(CreateReservationSeriesRequest request, ZoneId zone) {
+        ZonedDateTime first = request.getStartTime().atZone(zone);
+        Duration length = Duration.between(request.getStartTime(), request.getEndTime());
+        Set<LocalDate> exceptions = new HashSet<>(request.getExceptions());
+        long stepWeeks = request.getFrequency().getWeeks();
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (int i = 0; request.getCount() == null || i < request.getCount(); i++) {
+            ZonedDateTime start = first.plusWeeks(i * stepWeeks);
+            if (request.getUntil() != null && start.toInstant().isAfter(request.getUntil())) {
+                break;
+            }
+            if (i >= MAX_OCCURRENCES) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A series cannot have more than " + MAX_OCCURRENCES + " occurrences");
+            }
+            if (!exceptions.contains(start.toLocalDate())) {
+                occurrences.add(new Occurrence(start.toInstant(), start.toInstant().plus(length)));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Splits occurrences into free and conflicting ones in one pass over both
+     * lists, which are ordered by start time.
+     */
+    static void findConflicts(List<Occurrence> occurrences, List<ReservationSpan> existing,
+                              List<Occurrence> free, List<SeriesConflictDto> conflicts) {
+        int first = 0;
+        for (Occurrence occurrence : occurrences) {
+            // Reservations that ended before this occurrence also end before every later one.
+            while (first < existing.size() && !existing.get(first).getEndTime().isAfter(occurrence.start())) {
+                first++;
+            }
+            ReservationSpan conflict = null;
+            for (int i = first; i < existing.size() && existing.get(i).getStartTime().isBefore(occurrence.end()); i++) {
+                if (existing.get(i).getEndTime().isAfter(occurrence.start())) {
+                    conflict = existing.get(i);
+                    break;
+                }
+            }
+            if (conflict == null) {
+                free.add(occurrence);
+            } else {
+                conflicts.add(new SeriesConflictDto(occurrence.start(), occurrence.end(), conflict.getId()));
+            }
+        }
+    }
+
+    private List<ReservationDto> insert(Resource resource, List<Occurrence> occurrences,
+                                        UUID seriesId, UUID userId, String tenantId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>(occurrences.size());
+        List<ReservationDto> created = new ArrayList<>(occurrences.size());
+        for (Occurrence occurrence : occurrences) {
+            UUID id = UUID.randomUUID();
+            rows.add(new Object[]{
+                    id,
+                    resource.getId(),
+                    tenantId,
+                    userId,
+                    occurrence.start().atOffset(ZoneOffset.UTC),
+                    occurrence.end().atOffset(ZoneOffset.UTC),
+                    ReservationStatus.CREATED.name(),
+                    seriesId,
+                    now,
+                    now
+            });
+            created.add(new ReservationDto(id, resource.getId(), resource.getName(), userId,
+                    occurrence.start(), occurrence.end(), ReservationStatus.CREATED));
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingService.isOverlapViolation(ex)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "An occurrence was booked by someone else in the meantime. Please retry.");
+            }
+            throw ex;
+        }
+
+        for (ReservationDto reservation : created) {
+            reservationIndex.addAfterCommit(resource.getId(), reservation.getId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+            occupancyGrid.addAfterCommit(resource.getId(), reservation.getId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+        }
+        return created;
+    }
+
+    private static ZoneId zoneOf(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown time zone: " + timeZone);
+        }
+    }
+
+    record Occurrence(Instant start, Instant end) {
+    }
+}
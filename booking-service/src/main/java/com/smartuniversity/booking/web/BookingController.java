@@ -1,21 +1,34 @@
 package com.smartuniversity.booking.web;
 
-import com.smartuniversity.booking.domain.Reservation;
-import com.smartuniversity.booking.domain.ReservationStatus;
-import com.smartuniversity.booking.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartuniversity.booking.service.AvailabilityService;
 import com.smartuniversity.booking.service.BookingService;
+import com.smartuniversity.booking.service.ReservationCalendarService;
+import com.smartuniversity.booking.service.ReservationSeriesService;
+import com.smartuniversity.booking.web.dto.AvailabilitySlotDto;
 import com.smartuniversity.booking.web.dto.CreateReservationRequest;
+import com.smartuniversity.booking.web.dto.CreateReservationSeriesRequest;
 import com.smartuniversity.booking.web.dto.CreateResourceRequest;
+import com.smartuniversity.booking.web.dto.OccupancyGridDto;
 import com.smartuniversity.booking.web.dto.ReservationDto;
+import com.smartuniversity.booking.web.dto.ReservationPageDto;
+import com.smartuniversity.booking.web.dto.ReservationSeriesDto;
 import com.smartuniversity.booking.web.dto.ResourceDto;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * REST API for resources and reservations.
@@ -27,12 +40,24 @@ import java.util.stream.Collectors;
 @RequestMapping("/booking")
 public class BookingController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final BookingService bookingService;
-    private final ReservationRepository reservationRepository;
+    private final AvailabilityService availabilityService;
+    private final ReservationSeriesService reservationSeriesService;
+    private final ReservationCalendarService reservationCalendarService;
+    private final ObjectMapper objectMapper;
 
-    public BookingController(BookingService bookingService, ReservationRepository reservationRepository) {
+    public BookingController(BookingService bookingService,
+                             AvailabilityService availabilityService,
+                             ReservationSeriesService reservationSeriesService,
+                             ReservationCalendarService reservationCalendarService,
+                             ObjectMapper objectMapper) {
         this.bookingService = bookingService;
-        this.reservationRepository = reservationRepository;
+        this.availabilityService = availabilityService;
+        this.reservationSeriesService = reservationSeriesService;
+        this.reservationCalendarService = reservationCalendarService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/resources")
@@ -48,25 +73,88 @@ public class BookingController {
     }
 
     /**
-     * Get all reservations for the tenant (for calendar view)
+     * Free windows of at least {@code duration} minutes on matching resources,
+     * earliest first, then smallest sufficient capacity.
+     */
+    @GetMapping("/availability")
+    public List<AvailabilitySlotDto> findAvailability(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "minCapacity", required = false) Integer minCapacity,
+            @RequestParam("from") Instant from,
+            @RequestParam("to") Instant to,
+            @RequestParam("duration") long durationMinutes,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return availabilityService.findAvailability(
+                tenantId, type, minCapacity, from, to, Duration.ofMinutes(durationMinutes), limit);
+    }
+
+    /**
+     * Occupancy of every matching resource for a run of UTC days as compact
+     * bitsets, one bit per 15-minute slot, for week-by-room planning grids.
+     */
+    @GetMapping("/occupancy")
+    public OccupancyGridDto getOccupancy(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam("from") LocalDate from,
+            @RequestParam(value = "days", defaultValue = "7") int days) {
+        return availabilityService.getOccupancy(tenantId, type, from, days);
+    }
+
+    /**
+     * Get all current reservations for the tenant; archived ones are read through the calendar
      */
     @GetMapping("/reservations")
     public List<ReservationDto> listReservations(@RequestHeader("X-Tenant-Id") String tenantId) {
-        return reservationRepository.findAllByTenantId(tenantId).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return reservationCalendarService.listReservations(tenantId, null);
     }
 
     /**
-     * Get user's reservations
+     * Reservations overlapping {@code [from, to)} for the calendar, one page at a
+     * time in start order. Pass the returned {@code nextCursor} as {@code after}
+     * for the next page.
+     */
+    @GetMapping("/reservations/calendar")
+    public ReservationPageDto getCalendarPage(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestParam("from") Instant from,
+            @RequestParam("to") Instant to,
+            @RequestParam(value = "resourceId", required = false) UUID resourceId,
+            @RequestParam(value = "userId", required = false) UUID userId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "200") int limit) {
+        return reservationCalendarService.findPage(tenantId, from, to, resourceId, userId, after, limit);
+    }
+
+    /**
+     * The whole calendar window as NDJSON, one reservation per line, written as
+     * it is read.
+     */
+    @GetMapping(value = "/reservations/calendar/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamCalendar(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestParam("from") Instant from,
+            @RequestParam("to") Instant to,
+            @RequestParam(value = "resourceId", required = false) UUID resourceId,
+            @RequestParam(value = "userId", required = false) UUID userId) {
+        // Validate before the response is committed, so a bad window is still a 400.
+        reservationCalendarService.checkWindow(from, to);
+        StreamingResponseBody body = out -> reservationCalendarService.stream(
+                tenantId, from, to, resourceId, userId, reservation -> writeLine(out, reservation));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Get user's reservations, including archived ones
      */
     @GetMapping("/reservations/mine")
     public List<ReservationDto> getMyReservations(
             @RequestHeader("X-Tenant-Id") String tenantId,
             @RequestHeader("X-User-Id") String userId) {
-        return reservationRepository.findAllByTenantIdAndUserId(tenantId, UUID.fromString(userId)).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return reservationCalendarService.listReservations(tenantId, UUID.fromString(userId));
     }
 
     @PostMapping("/reservations")
@@ -78,6 +166,45 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
     }
 
+    /**
+     * Hold a slot for a few minutes while the user confirms. The hold blocks the
+     * slot like a reservation and is released automatically unless confirmed.
+     */
+    @PostMapping("/reservations/holds")
+    public ResponseEntity<ReservationDto> createHold(
+            @Valid @RequestBody CreateReservationRequest request,
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestHeader("X-User-Id") String userId) {
+        ReservationDto dto = bookingService.createHold(request, UUID.fromString(userId), tenantId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+
+    /**
+     * Turn an unexpired hold into a reservation
+     */
+    @PostMapping("/reservations/{id}/confirm")
+    public ReservationDto confirmHold(
+            @PathVariable("id") UUID reservationId,
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestHeader("X-User-Id") String userId) {
+        return bookingService.confirmHold(reservationId, UUID.fromString(userId), tenantId);
+    }
+
+    /**
+     * Book a weekly or biweekly series. Conflicting occurrences are reported;
+     * with {@code skipConflicts} the free ones are still booked, otherwise
+     * nothing is and the response is 409.
+     */
+    @PostMapping("/reservations/series")
+    public ResponseEntity<ReservationSeriesDto> createReservationSeries(
+            @Valid @RequestBody CreateReservationSeriesRequest request,
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @RequestHeader("X-User-Id") String userId) {
+        ReservationSeriesDto dto = reservationSeriesService.createSeries(request, UUID.fromString(userId), tenantId);
+        HttpStatus status = dto.getSeriesId() != null ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(dto);
+    }
+
     /**
      * Cancel a reservation
      */
@@ -90,18 +217,12 @@ public class BookingController {
         return ResponseEntity.noContent().build();
     }
 
-    /**
-     * FIX #8: Updated toDto to include resourceName
-     */
-    private ReservationDto toDto(Reservation reservation) {
-        return new ReservationDto(
-                reservation.getId(),
-                reservation.getResource().getId(),
-                reservation.getResource().getName(),  // FIX #8: Added resourceName
-                reservation.getUserId(),
-                reservation.getStartTime(),
-                reservation.getEndTime(),
-                reservation.getStatus()
-        );
+    private void writeLine(OutputStream out, ReservationDto reservation) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(reservation));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
@@ -0,0 +1,79 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A free window on a resource, long enough for the requested duration.
+ * Any start between {@code start} and {@code end} minus the duration is bookable.
+ */
+public class AvailabilitySlotDto {
+
+    private UUID resourceId;
+    private String resourceName;
+    private String type;
+    private Integer capacity;
+    private Instant start;
+    private Instant end;
+
+    public AvailabilitySlotDto() {
+    }
+
+    public AvailabilitySlotDto(UUID resourceId, String resourceName, String type, Integer capacity,
+                               Instant start, Instant end) {
+        this.resourceId = resourceId;
+        this.resourceName = resourceName;
+        this.type = type;
+        this.capacity = capacity;
+        this.start = start;
+        this.end = end;
+    }
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(UUID resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public void setEnd(Instant end) {
+        this.end = end;
+    }
+}
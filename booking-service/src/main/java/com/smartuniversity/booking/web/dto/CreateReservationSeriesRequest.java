@@ -0,0 +1,146 @@
+package com.smartuniversity.booking.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A recurring reservation: the first occurrence, how often it repeats and until
+ * when. Occurrences keep their local wall-clock time in {@code timeZone} across
+ * daylight-saving changes.
+ */
+public class CreateReservationSeriesRequest {
+
+    public enum Frequency {
+        WEEKLY(1),
+        BIWEEKLY(2);
+
+        private final int weeks;
+
+        Frequency(int weeks) {
+            this.weeks = weeks;
+        }
+
+        public int getWeeks() {
+            return weeks;
+        }
+    }
+
+    @NotNull
+    private UUID resourceId;
+
+    @NotNull
+    private Instant startTime;
+
+    @NotNull
+    private Instant endTime;
+
+    @NotNull
+    private Frequency frequency;
+
+    /**
+     * Number of occurrences, including skipped exceptions. Either this or {@code until} is required.
+     */
+    @Min(1)
+    @Max(60)
+    private Integer count;
+
+    /**
+     * No occurrence starts after this instant.
+     */
+    private Instant until;
+
+    /**
+     * Local dates on which the occurrence is skipped, e.g. holidays.
+     */
+    private List<LocalDate> exceptions = new ArrayList<>();
+
+    /**
+     * Zone in which the weekly time is kept; UTC if not given.
+     */
+    private String timeZone;
+
+    /**
+     * Book the free occurrences and report the rest, instead of rejecting the
+     * whole series when any occurrence conflicts.
+     */
+    private boolean skipConflicts;
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(UUID resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public Instant getUntil() {
+        return until;
+    }
+
+    public void setUntil(Instant until) {
+        this.until = until;
+    }
+
+    public List<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<LocalDate> exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public boolean isSkipConflicts() {
+        return skipConflicts;
+    }
+
+    public void setSkipConflicts(boolean skipConflicts) {
+        this.skipConflicts = skipConflicts;
+    }
+}
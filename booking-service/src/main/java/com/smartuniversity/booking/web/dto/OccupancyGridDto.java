@@ -0,0 +1,72 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy of a tenant's resources over consecutive UTC days, one bit per
+ * {@code slotMinutes} slot. Each resource's {@code occupancy} is Base64 of
+ * {@code bytesPerDay} bytes per day, where slot {@code i} of day {@code d} is
+ * bit {@code i % 8} (least significant first) of byte {@code d * bytesPerDay + i / 8};
+ * a set bit means the slot is at least partly booked.
+ */
+public class OccupancyGridDto {
+
+    private LocalDate from;
+    private int days;
+    private int slotMinutes;
+    private int bytesPerDay;
+    private List<ResourceOccupancyDto> resources;
+
+    public OccupancyGridDto() {
+    }
+
+    public OccupancyGridDto(LocalDate from, int days, int slotMinutes, int bytesPerDay,
+                            List<ResourceOccupancyDto> resources) {
+        this.from = from;
+        this.days = days;
+        this.slotMinutes = slotMinutes;
+        this.bytesPerDay = bytesPerDay;
+        this.resources = resources;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public int getBytesPerDay() {
+        return bytesPerDay;
+    }
+
+    public void setBytesPerDay(int bytesPerDay) {
+        this.bytesPerDay = bytesPerDay;
+    }
+
+    public List<ResourceOccupancyDto> getResources() {
+        return resources;
+    }
+
+    public void setResources(List<ResourceOccupancyDto> resources) {
+        this.resources = resources;
+    }
+}
@@ -19,6 +19,7 @@ public class ReservationDto {
     private Instant startTime;
     private Instant endTime;
     private ReservationStatus status;
+    private Instant holdExpiresAt;
 
     public ReservationDto() {
     }
@@ -101,4 +102,12 @@ public class ReservationDto {
     public void setStatus(ReservationStatus status) {
         this.status = status;
     }
+
+    public Instant getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(Instant holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
 }
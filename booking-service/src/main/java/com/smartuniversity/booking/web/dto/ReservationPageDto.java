@@ -0,0 +1,37 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.util.List;
+
+/**
+ * One page of the reservation calendar. {@code nextCursor} is passed back as
+ * {@code after} to fetch the next page and is null on the last page.
+ */
+public class ReservationPageDto {
+
+    private List<ReservationDto> reservations;
+    private String nextCursor;
+
+    public ReservationPageDto() {
+    }
+
+    public ReservationPageDto(List<ReservationDto> reservations, String nextCursor) {
+        this.reservations = reservations;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ReservationDto> getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(List<ReservationDto> reservations) {
+        this.reservations = reservations;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of booking a reservation series: the reservations created and the
+ * occurrences that conflicted. {@code seriesId} is null if nothing was created.
+ */
+public class ReservationSeriesDto {
+
+    private UUID seriesId;
+    private List<ReservationDto> reservations = new ArrayList<>();
+    private List<SeriesConflictDto> conflicts = new ArrayList<>();
+
+    public ReservationSeriesDto() {
+    }
+
+    public ReservationSeriesDto(UUID seriesId, List<ReservationDto> reservations, List<SeriesConflictDto> conflicts) {
+        this.seriesId = seriesId;
+        this.reservations = reservations;
+        this.conflicts = conflicts;
+    }
+
+    public UUID getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(UUID seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public List<ReservationDto> getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(List<ReservationDto> reservations) {
+        this.reservations = reservations;
+    }
+
+    public List<SeriesConflictDto> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<SeriesConflictDto> conflicts) {
+        this.conflicts = conflicts;
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.util.UUID;
+
+/**
+ * One resource's row of an {@link OccupancyGridDto}.
+ */
+public class ResourceOccupancyDto {
+
+    private UUID resourceId;
+    private String resourceName;
+    private String occupancy;
+
+    public ResourceOccupancyDto() {
+    }
+
+    public ResourceOccupancyDto(UUID resourceId, String resourceName, String occupancy) {
+        this.resourceId = resourceId;
+        this.resourceName = resourceName;
+        this.occupancy = occupancy;
+    }
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(UUID resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+    }
+
+    public String getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(String occupancy) {
+        this.occupancy = occupancy;
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartuniversity.booking.web.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An occurrence of a reservation series that overlaps an existing reservation.
+ */
+public class SeriesConflictDto {
+
+    private Instant startTime;
+    private Instant endTime;
+    private UUID conflictingReservationId;
+
+    public SeriesConflictDto() {
+    }
+
+    public SeriesConflictDto(Instant startTime, Instant endTime, UUID conflictingReservationId) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.conflictingReservationId = conflictingReservationId;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public UUID getConflictingReservationId() {
+        return conflictingReservationId;
+    }
+
+    public void setConflictingReservationId(UUID conflictingReservationId) {
+        this.conflictingReservationId = conflictingReservationId;
+    }
+}
@@ -0,0 +1,320 @@
+package com.smartuniversity.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartuniversity.booking.domain.Resource;
+import com.smartuniversity.booking.repository.ResourceRepository;
+import com.smartuniversity.booking.web.dto.CreateReservationRequest;
+import com.smartuniversity.booking.web.dto.ReservationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness for {@link BookingService#createReservation} and
+ * {@link BookingService#cancelReservation} against a real PostgreSQL, so that
+ * the exclusion constraint and its index are part of what is measured.
+ *
+ * Not part of the regular build (the class name does not match the surefire
+ * patterns). Run it explicitly and compare the reports between changes:
+ *
+ * <pre>
+ * mvn -pl booking-service test -Dtest=BookingLoadHarness -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbooking.load.threads=32 -Dbooking.load.seconds=30
+ * </pre>
+ *
+ * Each scenario prints throughput, p50/p99/max latency per operation, the
+ * number of 409s and the sampled lock-wait time, and writes the same figures to
+ * {@code target/booking-load/<scenario>.json}.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class BookingLoadHarness {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+        registry.add("booking.archive.enabled", () -> "false");
+    }
+
+    private static final int THREADS = Integer.getInteger("booking.load.threads", 32);
+    private static final int SECONDS = Integer.getInteger("booking.load.seconds", 20);
+    private static final int SPREAD_RESOURCES = Integer.getInteger("booking.load.resources", 50);
+    private static final double CANCEL_RATIO = Double.parseDouble(System.getProperty("booking.load.cancel-ratio", "0.3"));
+
+    // One-hour bookings on any quarter hour of five eight-hour days.
+    private static final int DAYS = 5;
+    private static final int STARTS_PER_DAY = 28;
+    private static final long LOCK_SAMPLE_MILLIS = 10;
+    private static final String TENANT = "load";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("delete from reservations");
+    }
+
+    @Test
+    void hotResource() throws Exception {
+        run("hot-resource", createResources(1));
+    }
+
+    @Test
+    void spreadResources() throws Exception {
+        run("spread-resources", createResources(SPREAD_RESOURCES));
+    }
+
+    private List<UUID> createResources(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Resource room = new Resource();
+            room.setTenantId(TENANT);
+            room.setName("Load Room " + i);
+            room.setType("CLASSROOM");
+            room.setCapacity(30);
+            ids.add(resourceRepository.save(room).getId());
+        }
+        return ids;
+    }
+
+    private void run(String scenario, List<UUID> resourceIds) throws Exception {
+        Instant firstDay = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS).plus(8, ChronoUnit.HOURS);
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+        AtomicLong lockWaitMillis = new AtomicLong();
+        Future<?> sampler = executor.submit(() -> sampleLockWaits(stop, startGate, lockWaitMillis));
+
+        List<Future<WorkerStats>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            UUID userId = UUID.randomUUID();
+            workers.add(executor.submit(() -> work(resourceIds, firstDay, userId, stop, startGate)));
+        }
+
+        long startedAt = System.nanoTime();
+        startGate.countDown();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(SECONDS));
+        stop.set(true);
+
+        WorkerStats total = new WorkerStats();
+        try {
+            for (Future<WorkerStats> worker : workers) {
+                total.add(worker.get());
+            }
+            sampler.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("threads", THREADS);
+        report.put("resources", resourceIds.size());
+        report.put("seconds", Math.round(elapsedSeconds * 10) / 10.0);
+        report.put("creates", total.created);
+        report.put("conflicts409", total.conflicts);
+        report.put("cancels", total.cancelled);
+        report.put("errors", total.errors);
+        report.put("opsPerSecond", Math.round((total.created + total.conflicts + total.cancelled) / elapsedSeconds));
+        report.put("createLatencyMs", percentiles(total.createNanos));
+        report.put("cancelLatencyMs", percentiles(total.cancelNanos));
+        report.put("lockWaitMs", lockWaitMillis.get());
+        print(report);
+
+        assertThat(total.errors).isZero();
+        Integer overlappingPairs = jdbcTemplate.queryForObject("""
+                select count(*) from reservations a
+                join reservations b on a.resource_id = b.resource_id and a.id < b.id
+                where a.status in ('CREATED', 'HOLD') and b.status in ('CREATED', 'HOLD')
+                  and a.start_time < b.end_time and b.start_time < a.end_time
+                """, Integer.class);
+        assertThat(overlappingPairs).isZero();
+    }
+
+    private WorkerStats work(List<UUID> resourceIds, Instant firstDay, UUID userId,
+                             AtomicBoolean stop, CountDownLatch startGate) throws InterruptedException {
+        WorkerStats stats = new WorkerStats();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        startGate.await();
+        while (!stop.get()) {
+            Instant start = firstDay
+                    .plus(random.nextInt(DAYS), ChronoUnit.DAYS)
+                    .plus(15L * random.nextInt(STARTS_PER_DAY), ChronoUnit.MINUTES);
+            CreateReservationRequest request = new CreateReservationRequest();
+            request.setResourceId(resourceIds.get(random.nextInt(resourceIds.size())));
+            request.setStartTime(start);
+            request.setEndTime(start.plus(1, ChronoUnit.HOURS));
+
+            long began = System.nanoTime();
+            ReservationDto created;
+            try {
+                created = bookingService.createReservation(request, userId, TENANT);
+                stats.created++;
+            } catch (ResponseStatusException ex) {
+                if (ex.getStatusCode().value() == HttpStatus.CONFLICT.value()) {
+                    stats.conflicts++;
+                } else {
+                    stats.errors++;
+                }
+                created = null;
+            } catch (RuntimeException ex) {
+                stats.errors++;
+                created = null;
+            }
+            stats.createNanos.add(System.nanoTime() - began);
+
+            if (created != null && random.nextDouble() < CANCEL_RATIO) {
+                began = System.nanoTime();
+                try {
+                    bookingService.cancelReservation(created.getId(), userId, TENANT);
+                    stats.cancelled++;
+                } catch (RuntimeException ex) {
+                    stats.errors++;
+                }
+                stats.cancelNanos.add(System.nanoTime() - began);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Approximates total lock-wait time by sampling how many backends are
+     * waiting on a lock every {@link #LOCK_SAMPLE_MILLIS}.
+     */
+    private Void sampleLockWaits(AtomicBoolean stop, CountDownLatch startGate, AtomicLong lockWaitMillis)
+            throws InterruptedException {
+        startGate.await();
+        while (!stop.get()) {
+            Integer waiting = jdbcTemplate.queryForObject("""
+                    select count(*) from pg_stat_activity
+                    where datname = current_database() and wait_event_type = 'Lock'
+                    """, Integer.class);
+            if (waiting != null) {
+                lockWaitMillis.addAndGet(waiting * LOCK_SAMPLE_MILLIS);
+            }
+            Thread.sleep(LOCK_SAMPLE_MILLIS);
+        }
+        return null;
+    }
+
+    private static Map<String, Double> percentiles(LongList nanos) {
+        long[] sorted = nanos.toSortedArray();
+        Map<String, Double> result = new LinkedHashMap<>();
+        result.put("p50", millis(sorted, 0.50));
+        result.put("p99", millis(sorted, 0.99));
+        result.put("max", millis(sorted, 1.0));
+        return result;
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return Math.round(sorted[Math.max(index, 0)] / 10_000.0) / 100.0;
+    }
+
+    private static void print(Map<String, Object> report) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = mapper.writeValueAsString(report);
+        System.out.println(json);
+
+        Path directory = Path.of("target", "booking-load");
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(report.get("scenario") + ".json"), json);
+    }
+
+    private static final class WorkerStats {
+
+        long created;
+        long conflicts;
+        long cancelled;
+        long errors;
+        final LongList createNanos = new LongList();
+        final LongList cancelNanos = new LongList();
+
+        void add(WorkerStats other) {
+            created += other.created;
+            conflicts += other.conflicts;
+            cancelled += other.cancelled;
+            errors += other.errors;
+            createNanos.addAll(other.createNanos);
+            cancelNanos.addAll(other.cancelNanos);
+        }
+    }
+
+    /**
+     * Growable list of primitive longs, so that recording latencies does not box.
+     */
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartuniversity.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTests {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        UUID id = UUID.randomUUID();
+        tree.insert(id, 100, 200);
+
+        assertThat(tree.findOverlap(200, 300)).isNull();
+        assertThat(tree.findOverlap(0, 100)).isNull();
+        assertThat(tree.findOverlap(199, 300)).isEqualTo(id);
+        assertThat(tree.findOverlap(120, 150)).isEqualTo(id);
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (!ids.isEmpty() && random.nextInt(3) == 0) {
+                int victim = random.nextInt(ids.size());
+                assertThat(tree.remove(ids.get(victim), intervals.get(victim)[0])).isTrue();
+                ids.remove(victim);
+                intervals.remove(victim);
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(200);
+                UUID id = UUID.randomUUID();
+                tree.insert(id, start, end);
+                ids.add(id);
+                intervals.add(new long[]{start, end});
+            }
+
+            long queryStart = random.nextInt(10_000);
+            long queryEnd = queryStart + 1 + random.nextInt(200);
+            UUID found = tree.findOverlap(queryStart, queryEnd);
+            boolean expected = intervals.stream().anyMatch(i -> i[0] < queryEnd && i[1] > queryStart);
+
+            assertThat(found != null).isEqualTo(expected);
+            if (found != null) {
+                long[] interval = intervals.get(ids.indexOf(found));
+                assertThat(interval[0] < queryEnd && interval[1] > queryStart).isTrue();
+            }
+        }
+        assertThat(tree.size()).isEqualTo(ids.size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.smartuniversity.booking.service;
+
+import com.smartuniversity.booking.domain.ReservationStatus;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository.ReservationSpan;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OccupancyGridTests {
+
+    private final ReservationRepository reservationRepository = Mockito.mock(ReservationRepository.class);
+    private final OccupancyGrid grid = new OccupancyGrid(reservationRepository, Duration.ofMinutes(1));
+
+    @Test
+    void coldResourcesAreLoadedWithOneQuery() {
+        UUID booked = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant start = today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        ReservationSpan span = span(booked, start, start.plus(Duration.ofMinutes(30)));
+        when(reservationRepository.findSpansOfResourcesEndingAfter(anyCollection(), eq(ReservationStatus.ACTIVE), any()))
+                .thenReturn(List.of(span));
+
+        Map<UUID, byte[]> first = grid.occupancy(List.of(booked, empty), today, 1);
+        Map<UUID, byte[]> second = grid.occupancy(List.of(booked, empty), today, 1);
+
+        assertThat(first.get(booked)[0]).isEqualTo((byte) 0b11);
+        assertThat(first.get(empty)).containsOnly(0);
+        assertThat(second.get(booked)).isEqualTo(first.get(booked));
+        verify(reservationRepository, times(1))
+                .findSpansOfResourcesEndingAfter(anyCollection(), eq(ReservationStatus.ACTIVE), any());
+    }
+
+    private static ReservationSpan span(UUID resourceId, Instant start, Instant end) {
+        UUID id = UUID.randomUUID();
+        return new ReservationSpan() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getResourceId() {
+                return resourceId;
+            }
+
+            @Override
+            public Instant getStartTime() {
+                return start;
+            }
+
+            @Override
+            public Instant getEndTime() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.smartuniversity.booking.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartuniversity.booking.domain.Resource;
+import com.smartuniversity.booking.repository.ArchivedReservationRepository;
+import com.smartuniversity.booking.repository.ReservationRepository;
+import com.smartuniversity.booking.repository.ResourceRepository;
+import com.smartuniversity.booking.web.dto.CreateReservationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Double-booking protection under contention, against a real PostgreSQL so that
+ * the reservations_no_overlap exclusion constraint is in place. Also runs the
+ * queries with optional filters, whose null parameters H2 types more leniently.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationConcurrencyIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Test
+    void optionalFiltersAcceptNullParameters() throws Exception {
+        Instant from = Instant.now();
+        Instant to = from.plus(1, ChronoUnit.DAYS);
+
+        assertThat(reservationRepository.findCalendarPage("engineering", from, to, from, new UUID(0, 0),
+                null, null, PageRequest.of(0, 10))).isNotNull();
+        assertThat(archivedReservationRepository.findCalendarPage("engineering", from, to, from, new UUID(0, 0),
+                null, null, PageRequest.of(0, 10))).isNotNull();
+        assertThat(resourceRepository.findMatching("engineering", null, null)).isNotNull();
+
+        mockMvc.perform(get("/booking/reservations").header("X-Tenant-Id", "engineering"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void hotResourceIsNeverDoubleBooked() throws Exception {
+        Resource room = new Resource();
+        room.setTenantId("engineering");
+        room.setName("Hot Room");
+        room.setType("CLASSROOM");
+        room.setCapacity(30);
+        UUID resourceId = resourceRepository.save(room).getId();
+
+        // One-hour bookings starting on any quarter hour of an eight-hour day,
+        // so most attempts overlap several others.
+        Instant day = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            String userId = UUID.randomUUID().toString();
+            Callable<int[]> worker = () -> {
+                int[] counts = new int[3];
+                startGate.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Instant start = day.plus(15L * ThreadLocalRandom.current().nextInt(28), ChronoUnit.MINUTES);
+                    CreateReservationRequest request = new CreateReservationRequest();
+                    request.setResourceId(resourceId);
+                    request.setStartTime(start);
+                    request.setEndTime(start.plus(1, ChronoUnit.HOURS));
+
+                    int status = mockMvc.perform(post("/booking/reservations")
+                                    .header("X-Tenant-Id", "engineering")
+                                    .header("X-User-Id", userId)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                            .andReturn().getResponse().getStatus();
+                    if (status == HttpStatus.CREATED.value()) {
+                        counts[0]++;
+                    } else if (status == HttpStatus.CONFLICT.value()) {
+                        counts[1]++;
+                    } else {
+                        counts[2]++;
+                    }
+                }
+                return counts;
+            };
+            results.add(executor.submit(worker));
+        }
+
+        int created = 0;
+        int conflicts = 0;
+        int unexpected = 0;
+        try {
+            startGate.countDown();
+            for (Future<int[]> result : results) {
+                int[] counts = result.get();
+                created += counts[0];
+                conflicts += counts[1];
+                unexpected += counts[2];
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(unexpected).isZero();
+        assertThat(created).isPositive();
+        assertThat(created + conflicts).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+
+        Integer stored = jdbcTemplate.queryForObject(
+                "select count(*) from reservations where resource_id = ? and status = 'CREATED'",
+                Integer.class, resourceId);
+        Integer overlappingPairs = jdbcTemplate.queryForObject("""
+                select count(*) from reservations a
+                join reservations b on a.resource_id = b.resource_id and a.id < b.id
+                where a.resource_id = ?
+                  and a.status = 'CREATED' and b.status = 'CREATED'
+                  and a.start_time < b.end_time and b.start_time < a.end_time
+                """, Integer.class, resourceId);
+        assertThat(stored).isEqualTo(created);
+        assertThat(overlappingPairs).isZero();
+    }
+}
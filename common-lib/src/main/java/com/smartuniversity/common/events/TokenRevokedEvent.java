@@ -0,0 +1,23 @@
+package com.smartuniversity.common.events;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Domain event published by the Auth service when access tokens are revoked
+ * before their expiry.
+ *
+ * Either a single token is revoked ({@code tokenId} is its {@code jti}), or all
+ * tokens of a user issued before {@code notBefore} ({@code tokenId} is null).
+ * {@code expiresAt} is when the revocation stops mattering because every token
+ * it covers has expired.
+ */
+public record TokenRevokedEvent(
+        String tokenId,
+        UUID userId,
+        String tenantId,
+        Instant notBefore,
+        Instant expiresAt
+) implements Serializable {
+}
@@ -0,0 +1,14 @@
+package com.smartuniversity.common.events;
+
+import java.io.Serializable;
+
+/**
+ * Domain event published by the Auth service when a user row is inserted,
+ * updated or deleted, so that every Auth instance drops its cached lookup of
+ * that user.
+ */
+public record UserChangedEvent(
+        String tenantId,
+        String username
+) implements Serializable {
+}
@@ -29,8 +29,14 @@ type Order = {
     price: number;
   }>;
   createdAt?: string;
+  failureReason?: string;
 };
 
+// Checkout is accepted as PENDING and finishes in the background
+const IN_PROGRESS_STATUSES = ['PENDING', 'PAYMENT_AUTHORIZED'];
+const ORDER_POLL_INTERVAL_MS = 1000;
+const ORDER_POLL_ATTEMPTS = 60;
+
 // Product category icons
 const getCategoryIcon = (name: string): string => {
   const lowerName = name.toLowerCase();
@@ -155,6 +161,20 @@ export const MarketplacePage: React.FC = () => {
     }));
   };
 
+  // Polls the accepted order until the checkout Saga has settled or we give up waiting
+  const waitForOrder = async (order: Order): Promise<Order> => {
+    let current = order;
+    for (let attempt = 0; attempt < ORDER_POLL_ATTEMPTS; attempt++) {
+      if (!current.status || !IN_PROGRESS_STATUSES.includes(current.status)) {
+        break;
+      }
+      await new Promise(resolve => setTimeout(resolve, ORDER_POLL_INTERVAL_MS));
+      const res = await api.get<Order>(`/market/orders/${current.id}`);
+      current = res.data;
+    }
+    return current;
+  };
+
   const handleCheckout = async () => {
     if (cartItems.length === 0) return;
 
@@ -167,17 +187,25 @@ export const MarketplacePage: React.FC = () => {
         }))
       };
       const res = await api.post<Order>('/market/orders/checkout', payload);
-      showToast(`Order ${res.data.id.slice(0, 8)}... placed successfully!`, 'success');
       setCartItems([]);
       setShowCheckoutModal(false);
       setIsCartOpen(false);
+
+      const order = await waitForOrder(res.data);
+      if (order.status === 'CANCELED') {
+        showToast(order.failureReason ?? 'Checkout failed', 'error');
+      } else if (order.status && IN_PROGRESS_STATUSES.includes(order.status)) {
+        showToast(`Order ${order.id.slice(0, 8)}... is still processing. Check My Orders.`, 'warning');
+      } else {
+        showToast(`Order ${order.id.slice(0, 8)}... placed successfully!`, 'success');
+      }
       
       // Refresh products to get updated stock
       const productsRes = await api.get<Product[]>('/market/products');
       setProducts(productsRes.data);
       
       // Add to orders
-      setOrders(prev => [res.data, ...prev]);
+      setOrders(prev => [order, ...prev]);
     } catch (err: any) {
       const status = err.response?.status;
       if (status === 402) {
@@ -872,7 +900,8 @@ export const MarketplacePage: React.FC = () => {
           color: var(--success);
         }
 
-        .order-status.pending {
+        .order-status.pending,
+        .order-status.payment_authorized {
           background: var(--warning-soft);
           color: var(--warning);
         }
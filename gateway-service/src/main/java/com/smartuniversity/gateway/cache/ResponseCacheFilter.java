@@ -0,0 +1,204 @@
+package com.smartuniversity.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global filter that answers GETs on configured read-mostly paths from memory.
+ *
+ * Entries are keyed by tenant, path and query string, so tenants never see each
+ * other's data. Each path has its own cache with its own TTL and byte budget.
+ * Only complete 200 responses are stored, and a successful non-GET request
+ * from a tenant on or below a cached path drops that tenant's entries for the
+ * path once the downstream service has answered, so users see their own
+ * writes immediately. A GET that started before such a write is not stored,
+ * since it may have read the old data. Invalidation only covers this gateway
+ * instance; writes through other instances show up here after the TTL.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_NAME_PREFIX = "gateway.response.";
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private final boolean enabled;
+    private final Map<String, Cache<CacheKey, CachedResponse>> cachesByPath = new HashMap<>();
+    // Per tenant, bumped on every invalidation so that in-flight reads can tell they raced a write.
+    private final Map<String, Long> invalidationsByTenant = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        for (ResponseCacheProperties.Route route : properties.getRoutes()) {
+            Cache<CacheKey, CachedResponse> cache = Caffeine.newBuilder()
+                    .maximumWeight(route.getMaxSize().toBytes())
+                    .weigher((CacheKey key, CachedResponse value) -> key.weight() + value.weight())
+                    .expireAfterWrite(route.getTtl())
+                    .recordStats()
+                    .build();
+            if (cachesByPath.putIfAbsent(route.getPath(), cache) != null) {
+                throw new IllegalArgumentException("Duplicate response cache path: " + route.getPath());
+            }
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME_PREFIX + route.getPath());
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || cachesByPath.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        JwtUserDetails userDetails = exchange.getAttribute(JwtAuthenticationFilter.USER_DETAILS_ATTR);
+        if (userDetails == null || userDetails.getTenantId() == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getURI().getRawPath();
+        if (request.getMethod() != HttpMethod.GET) {
+            if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            // Evicting before the write reaches the service would let a concurrent GET re-cache old data.
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    invalidate(userDetails.getTenantId(), path);
+                }
+            }));
+        }
+
+        Cache<CacheKey, CachedResponse> cache = cachesByPath.get(path);
+        if (cache == null) {
+            return chain.filter(exchange);
+        }
+
+        CacheKey key = new CacheKey(userDetails.getTenantId(), path, request.getURI().getRawQuery());
+        CachedResponse cached = isNoCache(request) ? null : cache.getIfPresent(key);
+        if (cached != null) {
+            return writeCached(exchange.getResponse(), cached);
+        }
+
+        exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        ServerHttpResponse recording = new RecordingResponse(exchange.getResponse(), cache, key,
+                invalidationsByTenant, invalidationsByTenant.getOrDefault(key.tenantId(), 0L));
+        return chain.filter(exchange.mutate().response(recording).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // After authentication and rate limiting, before the response is written by NettyWriteResponseFilter.
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    private void invalidate(String tenantId, String path) {
+        invalidationsByTenant.merge(tenantId, 1L, Long::sum);
+        cachesByPath.forEach((cachedPath, cache) -> {
+            if (path.equals(cachedPath) || path.startsWith(cachedPath + "/")) {
+                cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+            }
+        });
+    }
+
+    private static boolean isNoCache(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(cached.contentType());
+        }
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isStorable(ServerHttpResponse response) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return false;
+        }
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Buffers the downstream body of a cacheable response so it can be stored
+     * once it has been read completely, unless the tenant wrote in the meantime.
+     */
+    private static final class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final Cache<CacheKey, CachedResponse> cache;
+        private final CacheKey key;
+        private final Map<String, Long> invalidationsByTenant;
+        private final long invalidationsAtStart;
+
+        RecordingResponse(ServerHttpResponse delegate, Cache<CacheKey, CachedResponse> cache, CacheKey key,
+                          Map<String, Long> invalidationsByTenant, long invalidationsAtStart) {
+            super(delegate);
+            this.cache = cache;
+            this.key = key;
+            this.invalidationsByTenant = invalidationsByTenant;
+            this.invalidationsAtStart = invalidationsAtStart;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isStorable(getDelegate())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body)
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        HttpHeaders headers = getDelegate().getHeaders();
+                        if (invalidationsByTenant.getOrDefault(key.tenantId(), 0L) == invalidationsAtStart) {
+                            cache.put(key, new CachedResponse(headers.getContentType(), bytes));
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    record CacheKey(String tenantId, String path, String query) {
+
+        int weight() {
+            return tenantId.length() + path.length() + (query != null ? query.length() : 0);
+        }
+    }
+
+    record CachedResponse(MediaType contentType, byte[] body) {
+
+        int weight() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartuniversity.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in response caching for read-mostly GET endpoints, bound from
+ * {@code gateway.response-cache}. Only paths listed in {@link #routes} are cached.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+
+        /**
+         * Exact request path whose GET responses are cached, e.g. {@code /market/products}.
+         */
+        private String path;
+
+        /**
+         * How long a response is served from memory before the next request goes downstream.
+         */
+        private Duration ttl = Duration.ofSeconds(5);
+
+        /**
+         * Memory budget for this path across all tenants and query strings.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(4);
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
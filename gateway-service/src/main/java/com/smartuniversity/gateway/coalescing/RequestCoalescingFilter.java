@@ -0,0 +1,195 @@
+package com.smartuniversity.gateway.coalescing;
+
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global filter that lets concurrent identical GETs share one downstream call.
+ *
+ * Requests are identical when tenant, role class, path and query match. The
+ * first request (the leader) is forwarded as usual; requests arriving while it
+ * is in flight wait for its response and get a copy of status, headers and
+ * body. The flight is forgotten as soon as the leader completes, so nothing is
+ * served that is older than a request already in progress. If the leader fails
+ * or its response is too large to fan out, waiters go downstream themselves.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final boolean enabled;
+    private final List<PathPattern> patterns;
+    private final Map<String, String> roleClasses;
+    private final long maxBodyBytes;
+    private final Counter joinedCounter;
+
+    private final Map<FlightKey, Mono<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.roleClasses = Map.copyOf(properties.getRoleClasses());
+        this.maxBodyBytes = properties.getMaxBodySize().toBytes();
+        this.joinedCounter = Counter.builder("gateway.coalescing.joined")
+                .description("GET requests answered from another request's in-flight downstream call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET || !matches(request)) {
+            return chain.filter(exchange);
+        }
+
+        JwtUserDetails userDetails = exchange.getAttribute(JwtAuthenticationFilter.USER_DETAILS_ATTR);
+        if (userDetails == null || userDetails.getTenantId() == null) {
+            return chain.filter(exchange);
+        }
+
+        FlightKey key = new FlightKey(
+                userDetails.getTenantId(),
+                roleClassOf(userDetails.getRole()),
+                request.getURI().getRawPath(),
+                request.getURI().getRawQuery());
+
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Mono<SharedResponse> flight = sink.asMono();
+        Mono<SharedResponse> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joinedCounter.increment();
+            return existing
+                    .onErrorReturn(SharedResponse.NOT_SHAREABLE)
+                    .flatMap(shared -> shared == SharedResponse.NOT_SHAREABLE
+                            ? chain.filter(exchange)
+                            : writeShared(exchange.getResponse(), shared));
+        }
+
+        LeaderResponse leaderResponse = new LeaderResponse(exchange.getResponse(), sink, maxBodyBytes);
+        return chain.filter(exchange.mutate().response(leaderResponse).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    // No-op if the response was already shared; otherwise releases the waiters.
+                    sink.tryEmitValue(SharedResponse.NOT_SHAREABLE);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // After the response cache, so cache hits never start a flight.
+        return Ordered.HIGHEST_PRECEDENCE + 30;
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String roleClassOf(String role) {
+        if (role == null) {
+            return "";
+        }
+        return roleClasses.getOrDefault(role, role);
+    }
+
+    private static Mono<Void> writeShared(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        // Headers this request already has (rate-limit, cache status) are its own.
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Copies the leader's response for the waiters before writing it to the leader's client.
+     */
+    private static final class LeaderResponse extends ServerHttpResponseDecorator {
+
+        private final Sinks.One<SharedResponse> sink;
+        private final long maxBodyBytes;
+
+        LeaderResponse(ServerHttpResponse delegate, Sinks.One<SharedResponse> sink, long maxBodyBytes) {
+            super(delegate);
+            this.sink = sink;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(EMPTY_BODY)
+                    .flatMap(bytes -> {
+                        if (bytes.length <= maxBodyBytes && getStatusCode() != null) {
+                            sink.tryEmitValue(new SharedResponse(getStatusCode(), sharedHeaders(getHeaders()), bytes));
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+
+        private static HttpHeaders sharedHeaders(HttpHeaders source) {
+            HttpHeaders copy = new HttpHeaders();
+            source.forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                        && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)
+                        && !HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)) {
+                    copy.put(name, List.copyOf(values));
+                }
+            });
+            return copy;
+        }
+    }
+
+    record FlightKey(String tenantId, String roleClass, String path, String query) {
+    }
+
+    record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+        static final SharedResponse NOT_SHAREABLE = new SharedResponse(null, HttpHeaders.EMPTY, EMPTY_BODY);
+    }
+}
@@ -0,0 +1,68 @@
+package com.smartuniversity.gateway.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-flight settings for concurrent identical GETs, bound from {@code gateway.coalescing}.
+ */
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class RequestCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Path patterns whose GETs may share one downstream call, e.g. {@code /exam/exams/*}.
+     * {@code *} matches one segment and {@code **} any remaining segments.
+     */
+    private List<String> paths = new ArrayList<>();
+
+    /**
+     * Roles that see identical responses, mapped to a shared class name.
+     * Roles without an entry form a class of their own.
+     */
+    private Map<String, String> roleClasses = new HashMap<>();
+
+    /**
+     * Largest response body fanned out to waiting requests; waiters on a larger
+     * response make their own downstream call.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public Map<String, String> getRoleClasses() {
+        return roleClasses;
+    }
+
+    public void setRoleClasses(Map<String, String> roleClasses) {
+        this.roleClasses = roleClasses;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
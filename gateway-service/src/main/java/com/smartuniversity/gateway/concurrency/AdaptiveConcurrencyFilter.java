@@ -0,0 +1,110 @@
+package com.smartuniversity.gateway.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global filter that bounds the number of requests in flight to each route with
+ * a {@link VegasLimit} learned from observed latency. Requests over the limit
+ * are rejected immediately with 503 and {@code Retry-After}, so a slow service
+ * sheds load at the gateway instead of building an unbounded queue there.
+ *
+ * The current limit of each route is published as {@code gateway.concurrency.limit}.
+ */
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    public static final String LIMIT_GAUGE_NAME = "gateway.concurrency.limit";
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final Set<String> excludedRoutes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, VegasLimit> limits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.excludedRoutes = Set.copyOf(properties.getExcludedRoutes());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || excludedRoutes.contains(route.getId())) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        VegasLimit limit = limits.computeIfAbsent(routeId, this::newLimit);
+        if (!limit.tryAcquire()) {
+            rejections.computeIfAbsent(routeId, id -> Counter.builder("gateway.concurrency.rejected")
+                    .description("Requests rejected because the route's concurrency limit was reached")
+                    .tag("route", id)
+                    .register(meterRegistry)).increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return response.setComplete();
+        }
+
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limit.release();
+                    } else {
+                        limit.onSample(System.nanoTime() - startNanos,
+                                isOverloadSignal(exchange.getResponse().getStatusCode(), signal));
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // After cache and coalescing so that only requests that really go downstream hold a slot.
+        return Ordered.HIGHEST_PRECEDENCE + 40;
+    }
+
+    private VegasLimit newLimit(String routeId) {
+        VegasLimit limit = new VegasLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+        Gauge.builder(LIMIT_GAUGE_NAME, limit, VegasLimit::getLimit)
+                .description("Current adaptive concurrency limit of the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limit, VegasLimit::getInFlight)
+                .description("Requests currently holding a concurrency slot of the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private static boolean isOverloadSignal(HttpStatusCode status, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartuniversity.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounds for the per-route adaptive concurrency limits, bound from
+ * {@code gateway.concurrency-limit}.
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class AdaptiveConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limit each route starts with before any latency has been observed.
+     */
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /**
+     * Route ids that are never limited, e.g. health checks.
+     */
+    private List<String> excludedRoutes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public List<String> getExcludedRoutes() {
+        return excludedRoutes;
+    }
+
+    public void setExcludedRoutes(List<String> excludedRoutes) {
+        this.excludedRoutes = excludedRoutes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.smartuniversity.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP Vegas style concurrency limit for one route.
+ *
+ * The lowest latency seen is taken as the route's no-load baseline. From each
+ * completed request the limiter estimates how many requests are queued
+ * downstream, {@code limit * (1 - baseline / rtt)}: a short queue grows the
+ * limit, a long one shrinks it, and a failed or timed-out request cuts it
+ * multiplicatively. The baseline is forgotten periodically so that the limiter
+ * can follow a service whose latency has permanently changed.
+ */
+class VegasLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long baselineRttNanos;
+    private long samplesSinceProbe;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Claims a slot if fewer than {@link #getLimit()} requests are in flight.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot without feeding a sample, e.g. for a cancelled request.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases a slot and adjusts the limit from the request's outcome.
+     *
+     * @param rttNanos round trip time of the request
+     * @param dropped  whether the request failed in a way that signals overload
+     */
+    void onSample(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        synchronized (this) {
+            double current = limit;
+            if (dropped) {
+                limit = clamp(current * BACKOFF_RATIO);
+                return;
+            }
+
+            if (++samplesSinceProbe >= PROBE_MULTIPLIER * (long) current) {
+                samplesSinceProbe = 0;
+                baselineRttNanos = 0;
+            }
+            if (baselineRttNanos == 0 || rttNanos < baselineRttNanos) {
+                baselineRttNanos = rttNanos;
+                return;
+            }
+
+            double log = Math.max(1, Math.log10(current));
+            double queue = Math.ceil(current * (1 - (double) baselineRttNanos / rttNanos));
+            if (queue <= 3 * log) {
+                // Only grow when the limit is actually being used.
+                if (inFlightAtCompletion * 2 >= current) {
+                    limit = clamp(current + log);
+                }
+            } else if (queue > 6 * log) {
+                limit = clamp(current - log);
+            }
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,75 @@
+package com.smartuniversity.gateway.home;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls every configured home section in parallel on behalf of the current user
+ * and merges the results. Each call has its own time budget; a slow or failing
+ * section never fails the whole response.
+ */
+@Service
+public class CampusHomeAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusHomeAggregator.class);
+
+    private final WebClient webClient;
+    private final CampusHomeProperties properties;
+
+    public CampusHomeAggregator(WebClient.Builder webClientBuilder, CampusHomeProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+    }
+
+    public Mono<CampusHomeResponse> load(JwtUserDetails user) {
+        Map<String, CampusHomeProperties.Section> sections = properties.getSections();
+        return Flux.fromIterable(sections.entrySet())
+                .flatMap(entry -> fetch(entry.getKey(), entry.getValue(), user)
+                        .map(body -> Map.entry(entry.getKey(), body)), Math.max(1, sections.size()))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new)
+                .map(results -> {
+                    Map<String, JsonNode> merged = new LinkedHashMap<>();
+                    List<String> unavailable = new ArrayList<>();
+                    for (String name : sections.keySet()) {
+                        JsonNode body = results.get(name);
+                        if (body != null) {
+                            merged.put(name, body);
+                        } else {
+                            unavailable.add(name);
+                        }
+                    }
+                    return new CampusHomeResponse(merged, unavailable);
+                });
+    }
+
+    private Mono<JsonNode> fetch(String name, CampusHomeProperties.Section section, JwtUserDetails user) {
+        return webClient.get()
+                .uri(section.getUri())
+                .accept(MediaType.APPLICATION_JSON)
+                .header("X-User-Id", user.getUserId())
+                .header("X-User-Role", user.getRole())
+                .header("X-Tenant-Id", user.getTenantId())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .defaultIfEmpty(NullNode.getInstance())
+                .timeout(section.getTimeout())
+                .onErrorResume(ex -> {
+                    logger.warn("Campus home section '{}' unavailable: {}", name, ex.toString());
+                    return Mono.empty();
+                });
+    }
+}
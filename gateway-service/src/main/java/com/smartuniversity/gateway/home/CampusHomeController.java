@@ -0,0 +1,37 @@
+package com.smartuniversity.gateway.home;
+
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aggregated front page data. Clients call {@code GET /campus/home}, which the
+ * {@code campus-home} route forwards here after the global filters have
+ * authenticated and rate-limited the request.
+ */
+@RestController
+public class CampusHomeController {
+
+    public static final String FORWARD_PATH = "/internal/campus/home";
+
+    private final CampusHomeAggregator aggregator;
+
+    public CampusHomeController(CampusHomeAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @GetMapping(FORWARD_PATH)
+    public Mono<ResponseEntity<CampusHomeResponse>> home(ServerWebExchange exchange) {
+        // Only set when the request came through the gateway route and its JWT filter.
+        JwtUserDetails user = exchange.getAttribute(JwtAuthenticationFilter.USER_DETAILS_ATTR);
+        if (user == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        return aggregator.load(user).map(ResponseEntity::ok);
+    }
+}
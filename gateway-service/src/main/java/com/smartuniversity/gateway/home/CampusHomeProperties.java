@@ -0,0 +1,57 @@
+package com.smartuniversity.gateway.home;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Downstream calls merged into {@code GET /campus/home}, bound from {@code gateway.campus-home}.
+ */
+@ConfigurationProperties(prefix = "gateway.campus-home")
+public class CampusHomeProperties {
+
+    /**
+     * Sections of the home response keyed by name, in response order.
+     */
+    private Map<String, Section> sections = new LinkedHashMap<>();
+
+    public Map<String, Section> getSections() {
+        return sections;
+    }
+
+    public void setSections(Map<String, Section> sections) {
+        this.sections = sections;
+    }
+
+    public static class Section {
+
+        /**
+         * Absolute downstream URL, e.g. {@code http://exam-service:8085/exam/exams}.
+         */
+        private URI uri;
+
+        /**
+         * Budget for this call; a section that misses it is reported as unavailable.
+         */
+        private Duration timeout = Duration.ofSeconds(1);
+
+        public URI getUri() {
+            return uri;
+        }
+
+        public void setUri(URI uri) {
+            this.uri = uri;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.smartuniversity.gateway.home;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merged home page payload. Each section holds the downstream response body
+ * unchanged; sections that failed or timed out are listed in {@code unavailable}
+ * instead.
+ */
+public record CampusHomeResponse(Map<String, JsonNode> sections, List<String> unavailable) {
+}
@@ -0,0 +1,111 @@
+package com.smartuniversity.gateway.metrics;
+
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global filter that records end-to-end gateway latency per route id, tenant,
+ * method and status class as a histogram timer ({@code gateway.route.latency}),
+ * and tracks the number of requests currently in flight
+ * ({@code gateway.requests.active}).
+ *
+ * It runs first in the chain so that time spent in authentication, rate
+ * limiting and the downstream call is all included; comparing this timer with
+ * the downstream service's own {@code http.server.requests} shows how much of a
+ * slow request is spent in the gateway. Timers are registered once per tag
+ * combination and then looked up in a local map, so recording a request does
+ * not go through the meter registry.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    public static final String LATENCY_TIMER_NAME = "gateway.route.latency";
+    public static final String ACTIVE_GAUGE_NAME = "gateway.requests.active";
+
+    private static final String UNROUTED = "unrouted";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeRequests;
+    private final Map<TimerKey, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.activeRequests = meterRegistry.gauge(ACTIVE_GAUGE_NAME, new AtomicInteger());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        activeRequests.incrementAndGet();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    activeRequests.decrementAndGet();
+                    record(exchange, signal, System.nanoTime() - startNanos);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long elapsedNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        JwtUserDetails userDetails = exchange.getAttribute(JwtAuthenticationFilter.USER_DETAILS_ATTR);
+
+        TimerKey key = new TimerKey(
+                route != null ? route.getId() : UNROUTED,
+                userDetails != null && userDetails.getTenantId() != null ? userDetails.getTenantId() : ANONYMOUS,
+                exchange.getRequest().getMethod().name(),
+                statusClass(exchange.getResponse().getStatusCode(), signal));
+
+        Timer timer = latencyTimers.get(key);
+        if (timer == null) {
+            timer = latencyTimers.computeIfAbsent(key, this::registerTimer);
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer registerTimer(TimerKey key) {
+        return Timer.builder(LATENCY_TIMER_NAME)
+                .description("Gateway request latency from arrival to response completion")
+                .tag("route", key.route())
+                .tag("tenant", key.tenant())
+                .tag("method", key.method())
+                .tag("status", key.status())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String statusClass(HttpStatusCode status, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "CANCELLED";
+        }
+        if (status == null) {
+            // An error that escaped the chain is rendered as a 5xx by the error handler.
+            return signal == SignalType.ON_ERROR ? "5xx" : "UNKNOWN";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    private record TimerKey(String route, String tenant, String method, String status) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets for a single gateway instance.
+ *
+ * Buckets are spread over a fixed number of stripes by key hash; each stripe
+ * owns a plain map guarded by its own monitor, so tenants hashing to different
+ * stripes never contend. A bucket that has been idle long enough to refill
+ * completely is indistinguishable from a new one, so such buckets are pruned
+ * when a stripe grows past its key budget.
+ */
+public class LocalTokenBucketRateLimiter implements TenantRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_KEYS_PER_STRIPE = 1024;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LocalTokenBucketRateLimiter() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public Mono<Decision> tryAcquire(String key, RateLimitProperties.Limit limit) {
+        return Mono.just(acquire(key, limit, System.nanoTime()));
+    }
+
+    Decision acquire(String key, RateLimitProperties.Limit limit, long nowNanos) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= MAX_KEYS_PER_STRIPE) {
+                    stripe.pruneFullBuckets(nowNanos);
+                }
+                bucket = new Bucket(limit.getBurstCapacity(), nowNanos);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.take(limit, nowNanos);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        void pruneFullBuckets(long nowNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isFullAt(nowNanos)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private double tokens;
+        private long refilledAtNanos;
+        private double ratePerNano;
+        private int capacity;
+
+        Bucket(int capacity, long nowNanos) {
+            this.tokens = capacity;
+            this.capacity = capacity;
+            this.refilledAtNanos = nowNanos;
+        }
+
+        Decision take(RateLimitProperties.Limit limit, long nowNanos) {
+            // Limits may be reconfigured at runtime; always refill with the current one.
+            capacity = limit.getBurstCapacity();
+            ratePerNano = limit.getReplenishRate() / NANOS_PER_SECOND;
+            refill(nowNanos);
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.allow((long) tokens);
+            }
+            if (ratePerNano <= 0) {
+                return Decision.deny(TimeUnit.SECONDS.toMillis(1));
+            }
+            long waitNanos = (long) Math.ceil((1 - tokens) / ratePerNano);
+            return Decision.deny(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        }
+
+        boolean isFullAt(long nowNanos) {
+            return tokens + (nowNanos - refilledAtNanos) * ratePerNano >= capacity;
+        }
+
+        private void refill(long nowNanos) {
+            long elapsed = nowNanos - refilledAtNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+                refilledAtNanos = nowNanos;
+            }
+        }
+    }
+}
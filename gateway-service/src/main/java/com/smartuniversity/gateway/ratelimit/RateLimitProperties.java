@@ -0,0 +1,124 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket limits applied per tenant and per route, bound from {@code gateway.rate-limit}.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    public enum Mode {
+        /**
+         * Buckets live in this gateway instance only.
+         */
+        LOCAL,
+        /**
+         * Buckets are shared between gateway instances through Redis.
+         */
+        REDIS
+    }
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * Limit used for routes without an entry in {@link #routes}.
+     */
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Per-route overrides keyed by route id from {@code spring.cloud.gateway.routes}.
+     */
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit limitFor(String routeId) {
+        Limit limit = routes.get(routeId);
+        return limit != null ? limit : defaultLimit;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Both values must be positive: the buckets divide by the rate, and a zero
+     * capacity would reject every request. Setting either to zero or less fails
+     * binding, and with it startup.
+     */
+    public static class Limit {
+
+        /**
+         * Tokens added to a bucket per second.
+         */
+        private int replenishRate = 50;
+
+        /**
+         * Maximum tokens a bucket can hold, i.e. the largest allowed burst.
+         */
+        private int burstCapacity = 100;
+
+        public Limit() {
+        }
+
+        public Limit(int replenishRate, int burstCapacity) {
+            setReplenishRate(replenishRate);
+            setBurstCapacity(burstCapacity);
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = requirePositive("replenish-rate", replenishRate);
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = requirePositive("burst-capacity", burstCapacity);
+        }
+
+        private static int requirePositive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive, was " + value);
+            }
+            return value;
+        }
+    }
+}
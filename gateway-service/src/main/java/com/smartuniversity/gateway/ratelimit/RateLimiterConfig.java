@@ -0,0 +1,27 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Selects the bucket store from {@code gateway.rate-limit.mode}: buckets local to
+ * this instance by default, or shared through Redis when several gateway replicas
+ * must enforce one limit together.
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.rate-limit.mode", havingValue = "redis")
+    public TenantRateLimiter redisTenantRateLimiter(ReactiveStringRedisTemplate redisTemplate) {
+        return new RedisTokenBucketRateLimiter(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+    public TenantRateLimiter localTenantRateLimiter() {
+        return new LocalTokenBucketRateLimiter();
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by every gateway instance, evaluated atomically in Redis
+ * by {@code scripts/tenant_token_bucket.lua}.
+ *
+ * If Redis is unreachable the request is allowed: the limiter protects the
+ * downstream services and must not become a single point of failure itself.
+ */
+public class RedisTokenBucketRateLimiter implements TenantRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketRateLimiter.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/tenant_token_bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Decision> tryAcquire(String key, RateLimitProperties.Limit limit) {
+        // Hash tag keeps both keys of a bucket in the same Redis Cluster slot.
+        String prefix = "gateway:rate-limit:{" + key + "}";
+        List<String> keys = List.of(prefix + ":tokens", prefix + ":timestamp");
+        List<String> args = List.of(
+                Integer.toString(limit.getReplenishRate()),
+                Integer.toString(limit.getBurstCapacity()),
+                "1");
+
+        return redisTemplate.execute(SCRIPT, keys, args)
+                .next()
+                .map(result -> result.get(0) == 1L
+                        ? Decision.allow(result.get(1))
+                        : Decision.deny(result.get(2)))
+                .onErrorResume(ex -> {
+                    logger.warn("Redis rate limiter unavailable, allowing request for {}: {}", key, ex.toString());
+                    return Mono.just(Decision.allow(-1));
+                });
+    }
+}
@@ -0,0 +1,75 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter that limits request rates per tenant and per route, so one noisy
+ * tenant cannot exhaust a downstream service for everyone else.
+ *
+ * Runs right after {@link JwtAuthenticationFilter} and only for requests it has
+ * authenticated; public routes (login, health checks) are not limited here.
+ */
+@Component
+public class TenantRateLimitFilter implements GlobalFilter, Ordered {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String UNROUTED = "unrouted";
+
+    private final RateLimitProperties properties;
+    private final TenantRateLimiter rateLimiter;
+
+    public TenantRateLimitFilter(RateLimitProperties properties, TenantRateLimiter rateLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        JwtUserDetails userDetails = exchange.getAttribute(JwtAuthenticationFilter.USER_DETAILS_ATTR);
+        if (userDetails == null || userDetails.getTenantId() == null) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNROUTED;
+        String key = userDetails.getTenantId() + ':' + routeId;
+
+        return rateLimiter.tryAcquire(key, properties.limitFor(routeId))
+                .flatMap(decision -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    if (decision.allowed()) {
+                        if (decision.remainingTokens() >= 0) {
+                            response.getHeaders().set(REMAINING_HEADER, Long.toString(decision.remainingTokens()));
+                        }
+                        return chain.filter(exchange);
+                    }
+                    long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().set(REMAINING_HEADER, "0");
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                    return response.setComplete();
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
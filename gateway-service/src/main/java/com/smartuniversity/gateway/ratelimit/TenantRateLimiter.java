@@ -0,0 +1,26 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token-bucket store used by {@link TenantRateLimitFilter}.
+ */
+public interface TenantRateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, creating a full
+     * bucket with the given limit if none exists yet.
+     */
+    Mono<Decision> tryAcquire(String key, RateLimitProperties.Limit limit);
+
+    record Decision(boolean allowed, long remainingTokens, long retryAfterMillis) {
+
+        static Decision allow(long remainingTokens) {
+            return new Decision(true, remainingTokens, 0);
+        }
+
+        static Decision deny(long retryAfterMillis) {
+            return new Decision(false, 0, retryAfterMillis);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.smartuniversity.gateway.revocation;
+
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revoked before their expiry, checked by {@code JwtAuthenticationFilter}
+ * on every authenticated request without any network I/O.
+ *
+ * Single-token revocations are held in an exact map from token id to the
+ * token's expiry, fronted by a {@link BloomFilter}: almost every request carries
+ * a token that was never revoked, and those are answered by a few bit probes.
+ * Per-user revocations reject every token of the user issued before a cut-off.
+ *
+ * An entry is only useful until the tokens it covers expire, so memory is
+ * bounded by what was revoked within one token lifetime: expired entries are
+ * swept, and the filter rebuilt without them, at most once per purge interval
+ * when new revocations arrive. Writers are serialised; readers never lock.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final TokenRevocationProperties properties;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, UserCutoff> userCutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private long nextPurgeAtMillis;
+
+    public TokenRevocationList(TokenRevocationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.filter = new BloomFilter(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+
+        Gauge.builder("gateway.revocation.tokens", revokedTokens, Map::size)
+                .description("Individually revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.users", userCutoffs, Map::size)
+                .description("Users with a revocation cut-off still in force")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(JwtUserDetails userDetails) {
+        String tokenId = userDetails.getTokenId();
+        if (tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (userCutoffs.isEmpty()) {
+            return false;
+        }
+        UserCutoff cutoff = userCutoffs.get(userDetails.getUserId());
+        // Issue times are in milliseconds (iat_ms), so a login right after the
+        // revocation is not caught by it. Older tokens carrying only the
+        // whole-second iat count as issued at the start of their second.
+        return cutoff != null && userDetails.getIssuedAtMillis() < cutoff.notBeforeMillis();
+    }
+
+    public void revoke(TokenRevokedEvent event) {
+        revoke(event, System.currentTimeMillis());
+    }
+
+    synchronized void revoke(TokenRevokedEvent event, long nowMillis) {
+        if (nowMillis >= nextPurgeAtMillis) {
+            purge(nowMillis);
+            nextPurgeAtMillis = nowMillis + properties.getPurgeInterval().toMillis();
+        }
+
+        long expiresAtMillis = event.expiresAt().toEpochMilli();
+        if (expiresAtMillis <= nowMillis) {
+            return;
+        }
+        if (event.tokenId() != null) {
+            revokedTokens.put(event.tokenId(), expiresAtMillis);
+            filter.put(event.tokenId());
+        } else if (event.userId() != null && event.notBefore() != null) {
+            UserCutoff cutoff = new UserCutoff(event.notBefore().toEpochMilli(), expiresAtMillis);
+            userCutoffs.merge(event.userId().toString(), cutoff, UserCutoff::latest);
+        }
+    }
+
+    synchronized void purge(long nowMillis) {
+        revokedTokens.values().removeIf(expiresAtMillis -> expiresAtMillis <= nowMillis);
+        userCutoffs.values().removeIf(cutoff -> cutoff.expiresAtMillis() <= nowMillis);
+
+        // Fill the replacement before publishing it so readers never see a filter
+        // that is missing a live revocation.
+        int expected = Math.max(properties.getExpectedRevocations(), revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(expected, properties.getFalsePositiveRate());
+        revokedTokens.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    int revokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    private record UserCutoff(long notBeforeMillis, long expiresAtMillis) {
+
+        UserCutoff latest(UserCutoff other) {
+            return new UserCutoff(
+                    Math.max(notBeforeMillis, other.notBeforeMillis),
+                    Math.max(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+}
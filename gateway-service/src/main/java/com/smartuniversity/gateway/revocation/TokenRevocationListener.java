@@ -0,0 +1,21 @@
+package com.smartuniversity.gateway.revocation;
+
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+/**
+ * Feeds revocations from the Auth service into the {@link TokenRevocationList}.
+ */
+public class TokenRevocationListener {
+
+    private final TokenRevocationList revocationList;
+
+    public TokenRevocationListener(TokenRevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @RabbitListener(queues = "#{tokenRevokedQueue.name}")
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        revocationList.revoke(event);
+    }
+}
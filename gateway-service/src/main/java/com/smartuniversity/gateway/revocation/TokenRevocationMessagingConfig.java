@@ -0,0 +1,54 @@
+package com.smartuniversity.gateway.revocation;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ wiring for revocations published by the Auth service. Every gateway
+ * instance must see every revocation, so each one consumes from its own
+ * exclusive, auto-deleted queue bound to the shared exchange. A restarted
+ * instance only sees revocations published after it subscribed, so token
+ * lifetimes still bound how long a missed revocation can matter.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.token-revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationMessagingConfig {
+
+    public static final String EXCHANGE_NAME = "university.events";
+    public static final String TOKEN_REVOKED_ROUTING_KEY = "auth.token.revoked";
+
+    @Bean
+    public TopicExchange universityExchange() {
+        return new TopicExchange(EXCHANGE_NAME, true, false);
+    }
+
+    @Bean
+    public Queue tokenRevokedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding tokenRevokedBinding(Queue tokenRevokedQueue, TopicExchange universityExchange) {
+        return BindingBuilder.bind(tokenRevokedQueue)
+                .to(universityExchange)
+                .with(TOKEN_REVOKED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter jacksonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(TokenRevocationList revocationList) {
+        return new TokenRevocationListener(revocationList);
+    }
+}
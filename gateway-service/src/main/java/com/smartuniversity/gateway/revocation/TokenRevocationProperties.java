@@ -0,0 +1,62 @@
+package com.smartuniversity.gateway.revocation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the in-memory revocation list, bound from {@code gateway.token-revocation}.
+ */
+@ConfigurationProperties(prefix = "gateway.token-revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Whether to subscribe to revocations published by the Auth service.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Revoked tokens alive at once that the Bloom filter is sized for. More still
+     * work, at a higher false-positive rate until the next purge resizes it.
+     */
+    private int expectedRevocations = 100_000;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Minimum time between sweeps that drop revocations whose tokens have expired.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getExpectedRevocations() {
+        return expectedRevocations;
+    }
+
+    public void setExpectedRevocations(int expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartuniversity.gateway.security;
 
+import com.smartuniversity.gateway.revocation.TokenRevocationList;
 import io.jsonwebtoken.JwtException;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
@@ -13,31 +14,46 @@ import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import reactor.core.publisher.Mono;
 
 /**
- * Global filter that validates JWT tokens on all non-/auth routes and injects
- * user identity and role headers into downstream requests.
+ * Global filter that validates JWT tokens on all non-public routes, rejects
+ * tokens in the {@link TokenRevocationList}, applies the RBAC rules from
+ * {@link RouteAuthorizationTable} and injects user identity and role headers
+ * into downstream requests.
  */
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
+    /**
+     * Exchange attribute holding the {@link JwtUserDetails} of an authenticated request,
+     * for filters that run later in the chain.
+     */
+    public static final String USER_DETAILS_ATTR = JwtAuthenticationFilter.class.getName() + ".userDetails";
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USER_ROLE_HEADER = "X-User-Role";
+    private static final String TENANT_ID_HEADER = "X-Tenant-Id";
+
     private final JwtService jwtService;
+    private final RouteAuthorizationTable authorizationTable;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   RouteAuthorizationTable authorizationTable,
+                                   TokenRevocationList revocationList) {
         this.jwtService = jwtService;
+        this.authorizationTable = authorizationTable;
+        this.revocationList = revocationList;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
+        RouteAuthorizationTable.AccessRule accessRule = authorizationTable.match(request.getMethod(), path);
 
-        // Allow unauthenticated access to auth endpoints and actuator health
-        if (path.startsWith("/auth/") || path.startsWith("/actuator/") || path.contains("/actuator/health")) {
-            return chain.filter(exchange);
-        }
-
-        // Allow CORS preflight without authentication
-        if (request.getMethod() == HttpMethod.OPTIONS) {
-            return chain.filter(exchange);
+        // Allow unauthenticated access to public paths (auth endpoints, actuator health)
+        // and CORS preflight, without any identity headers the client tried to supply.
+        if (accessRule.isPublic() || request.getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(withoutIdentityHeaders(exchange));
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
@@ -55,49 +71,59 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             return exchange.getResponse().setComplete();
         }
 
-        if (!isAuthorized(userDetails, path, request.getMethod())) {
+        if (revocationList.isRevoked(userDetails)) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        if (!accessRule.permits(userDetails.getRole())) {
             exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
             return exchange.getResponse().setComplete();
         }
 
+        exchange.getAttributes().put(USER_DETAILS_ATTR, userDetails);
+
         ServerHttpRequest mutatedRequest = request.mutate()
-                .header("X-User-Id", userDetails.getUserId())
-                .header("X-User-Role", userDetails.getRole())
-                .header("X-Tenant-Id", userDetails.getTenantId())
+                .header(USER_ID_HEADER, userDetails.getUserId())
+                .header(USER_ROLE_HEADER, userDetails.getRole())
+                .header(TENANT_ID_HEADER, userDetails.getTenantId())
                 .build();
 
         return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 
-    private boolean isAuthorized(JwtUserDetails user, String path, HttpMethod method) {
-        String role = user.getRole();
-        if (role == null) {
-            return false;
-        }
-
-        // Basic RBAC checks for sensitive routes.
-        boolean isTeacherOrAdmin = role.equals("TEACHER") || role.equals("ADMIN");
-
-        if (path.startsWith("/market/products") && HttpMethod.POST.equals(method)) {
-            return isTeacherOrAdmin;
-        }
-
-        if (path.startsWith("/booking/resources") && HttpMethod.POST.equals(method)) {
-            return isTeacherOrAdmin;
-        }
-
-        if (path.startsWith("/exam/exams") && HttpMethod.POST.equals(method)) {
-            // Exam creation and start should be limited to teachers/admins.
-            return isTeacherOrAdmin;
+    /**
+     * Downstream services trust these headers as set by this filter, so a client
+     * must never be able to pass its own values through an unauthenticated route.
+     */
+    private static ServerWebExchange withoutIdentityHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(USER_ID_HEADER)
+                && !headers.containsKey(USER_ROLE_HEADER)
+                && !headers.containsKey(TENANT_ID_HEADER)) {
+            return exchange;
         }
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(h -> {
+                    h.remove(USER_ID_HEADER);
+                    h.remove(USER_ROLE_HEADER);
+                    h.remove(TENANT_ID_HEADER);
+                })
+                .build();
+        return exchange.mutate().request(stripped).build();
+    }
 
-        // By default any authenticated user is allowed.
-        return true;
+    /**
+     * Role-based access check for an authenticated user against the request path and method,
+     * using the rules compiled from {@code gateway.security}.
+     */
+    public boolean isAuthorized(JwtUserDetails user, String path, HttpMethod method) {
+        return authorizationTable.match(method, path).permits(user.getRole());
     }
 
     @Override
     public int getOrder() {
-        // Ensure this filter runs early in the chain.
-        return Ordered.HIGHEST_PRECEDENCE;
+        // Ensure this filter runs early in the chain, right after RouteMetricsFilter starts its timer.
+        return Ordered.HIGHEST_PRECEDENCE + 1;
     }
 }
\ No newline at end of file
@@ -1,25 +1,63 @@
 package com.smartuniversity.gateway.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for validating JWT tokens at the API Gateway.
+ *
+ * Verified tokens are kept in a bounded in-memory cache keyed by the SHA-256
+ * digest of the compact token, so repeat requests with the same bearer token
+ * skip the HMAC check and claims parsing. Entries expire at the token's
+ * {@code exp} claim; tokens without an expiry are never cached.
+ *
+ * Time spent in {@link #parseToken} is recorded as {@code gateway.jwt.parse},
+ * tagged by whether the token came from the cache, was verified or was rejected.
  */
 @Component
 public class JwtService {
 
-    private final Key signingKey;
+    public static final String CACHE_NAME = "gateway.jwt.verified";
 
-    public JwtService(@Value("${security.jwt.secret}") String secret) {
+    public static final String PARSE_TIMER_NAME = "gateway.jwt.parse";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<TokenKey, VerifiedToken> verifiedTokens;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtService(@Value("${security.jwt.secret}") String secret,
+                      @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize,
+                      MeterRegistry meterRegistry) {
         byte[] keyBytes;
         try {
             // Try standard Base64 decoding first
@@ -33,19 +71,109 @@ public class JwtService {
                 keyBytes = secret.getBytes(StandardCharsets.UTF_8);
             }
         }
-        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        Key signingKey = Keys.hmacShaKeyFor(keyBytes);
+
+        // The parser is immutable and thread-safe, so build it once.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+
+        this.cachedTimer = parseTimer(meterRegistry, "cached");
+        this.verifiedTimer = parseTimer(meterRegistry, "verified");
+        this.rejectedTimer = parseTimer(meterRegistry, "rejected");
     }
 
     public JwtUserDetails parseToken(String token) throws JwtException {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long startNanos = System.nanoTime();
+        TokenKey key = TokenKey.of(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            cachedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return cached.userDetails();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            rejectedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
 
         String userId = claims.getSubject();
         String role = claims.get("role", String.class);
         String tenant = claims.get("tenant", String.class);
-        return new JwtUserDetails(userId, role, tenant);
+        JwtUserDetails userDetails = new JwtUserDetails(userId, role, tenant, claims.getId(), issuedAtMillis(claims));
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(key, new VerifiedToken(userDetails, expiration.getTime()));
+        }
+        verifiedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return userDetails;
+    }
+
+    /**
+     * Issue time from the Auth service's {@code iat_ms} claim, falling back to
+     * the whole-second {@code iat} for tokens that predate it.
+     */
+    private static long issuedAtMillis(Claims claims) {
+        Long issuedAtMillis = claims.get("iat_ms", Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : 0;
+    }
+
+    private static Timer parseTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(PARSE_TIMER_NAME)
+                .description("Time spent validating bearer tokens")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record VerifiedToken(JwtUserDetails userDetails, long expiresAtMillis) {
+    }
+
+    /**
+     * SHA-256 digest of a compact token, held as four longs so that equality
+     * and hashing need no extra allocations.
+     */
+    private record TokenKey(long w0, long w1, long w2, long w3) {
+
+        static TokenKey of(String token) {
+            MessageDigest digest = SHA_256.get();
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    private static final class ExpireAtTokenExpiry implements Expiry<TokenKey, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenKey key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
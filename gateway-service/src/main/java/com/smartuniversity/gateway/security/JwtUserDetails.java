@@ -8,11 +8,19 @@ public class JwtUserDetails {
     private final String userId;
     private final String role;
     private final String tenantId;
+    private final String tokenId;
+    private final long issuedAtMillis;
 
     public JwtUserDetails(String userId, String role, String tenantId) {
+        this(userId, role, tenantId, null, 0);
+    }
+
+    public JwtUserDetails(String userId, String role, String tenantId, String tokenId, long issuedAtMillis) {
         this.userId = userId;
         this.role = role;
         this.tenantId = tenantId;
+        this.tokenId = tokenId;
+        this.issuedAtMillis = issuedAtMillis;
     }
 
     public String getUserId() {
@@ -26,4 +34,18 @@ public class JwtUserDetails {
     public String getTenantId() {
         return tenantId;
     }
+
+    /**
+     * The token's {@code jti}, or null for tokens issued without one.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * The token's {@code iat} in epoch milliseconds, or 0 if absent.
+     */
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
 }
\ No newline at end of file
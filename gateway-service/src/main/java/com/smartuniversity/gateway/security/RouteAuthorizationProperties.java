@@ -0,0 +1,84 @@
+package com.smartuniversity.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarative RBAC rules for gateway routes, bound from {@code gateway.security}.
+ *
+ * Path patterns are matched segment by segment: a literal segment matches
+ * itself, {@code *} matches exactly one segment and a trailing {@code **}
+ * matches zero or more segments. When several patterns match a request the
+ * most specific one wins.
+ */
+@ConfigurationProperties(prefix = "gateway.security")
+public class RouteAuthorizationProperties {
+
+    /**
+     * Paths that are forwarded without a JWT, for every HTTP method.
+     */
+    private List<String> publicPaths = new ArrayList<>();
+
+    /**
+     * Role requirements for authenticated paths. Paths without a matching rule
+     * are open to any authenticated user.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    public List<String> getPublicPaths() {
+        return publicPaths;
+    }
+
+    public void setPublicPaths(List<String> publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+
+        private String path;
+
+        /**
+         * HTTP methods the rule applies to; empty means all methods.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Roles allowed through; empty means any authenticated user.
+         */
+        private List<String> roles = new ArrayList<>();
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.smartuniversity.gateway.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path-segment trie compiled at startup from {@link RouteAuthorizationProperties}.
+ *
+ * Each node holds one access rule slot per HTTP method for requests ending at
+ * the node, and another set for a trailing {@code **} below it. Lookups walk
+ * the request path in place (no substrings or arrays are created) and return
+ * the deepest matching rule, preferring literal segments over {@code *}.
+ */
+@Component
+public class RouteAuthorizationTable {
+
+    private static final HttpMethod[] METHODS = {
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.PATCH, HttpMethod.DELETE, HttpMethod.OPTIONS, HttpMethod.TRACE
+    };
+    private static final int ANY_METHOD = METHODS.length;
+    private static final int METHOD_SLOTS = METHODS.length + 1;
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    public RouteAuthorizationTable(RouteAuthorizationProperties properties) {
+        for (String publicPath : properties.getPublicPaths()) {
+            add(publicPath, List.of(), AccessRule.PUBLIC);
+        }
+        for (RouteAuthorizationProperties.Rule rule : properties.getRules()) {
+            if (rule.getPath() == null || rule.getPath().isBlank()) {
+                throw new IllegalArgumentException("Authorization rule without a path");
+            }
+            add(rule.getPath(), rule.getMethods(), AccessRule.forRoles(rule.getRoles()));
+        }
+    }
+
+    /**
+     * Returns the access rule for a request; never {@code null}.
+     */
+    public AccessRule match(HttpMethod method, String path) {
+        AccessRule rule = find(root, path, 0, methodIndex(method));
+        return rule != null ? rule : AccessRule.AUTHENTICATED;
+    }
+
+    private void add(String pattern, List<String> methods, AccessRule rule) {
+        String[] segments = Arrays.stream(pattern.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+
+        Node node = root;
+        boolean subtree = false;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (MULTI_WILDCARD.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                }
+                subtree = true;
+            } else if (SINGLE_WILDCARD.equals(segment)) {
+                node = node.wildcardChild();
+            } else {
+                node = node.literalChild(segment);
+            }
+        }
+
+        AccessRule[] slots = subtree ? node.subtreeRules : node.exactRules;
+        if (methods == null || methods.isEmpty()) {
+            put(slots, ANY_METHOD, rule, pattern);
+        } else {
+            for (String method : methods) {
+                int index = methodIndex(HttpMethod.valueOf(method.trim().toUpperCase()));
+                if (index == ANY_METHOD) {
+                    throw new IllegalArgumentException("Unsupported HTTP method '" + method + "' for " + pattern);
+                }
+                put(slots, index, rule, pattern);
+            }
+        }
+    }
+
+    private static void put(AccessRule[] slots, int index, AccessRule rule, String pattern) {
+        if (slots[index] != null) {
+            throw new IllegalArgumentException("Duplicate authorization rule for " + pattern);
+        }
+        slots[index] = rule;
+    }
+
+    private static AccessRule find(Node node, String path, int position, int methodIndex) {
+        int start = position;
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+
+        if (start == length) {
+            AccessRule exact = node.rule(node.exactRules, methodIndex);
+            return exact != null ? exact : node.rule(node.subtreeRules, methodIndex);
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node literal = node.findLiteral(path, start, end - start);
+        if (literal != null) {
+            AccessRule rule = find(literal, path, end, methodIndex);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.wildcard != null) {
+            AccessRule rule = find(node.wildcard, path, end, methodIndex);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.rule(node.subtreeRules, methodIndex);
+    }
+
+    private static int methodIndex(HttpMethod method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return ANY_METHOD;
+    }
+
+    private static final class Node {
+
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private Node wildcard;
+        private final AccessRule[] exactRules = new AccessRule[METHOD_SLOTS];
+        private final AccessRule[] subtreeRules = new AccessRule[METHOD_SLOTS];
+
+        Node literalChild(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node child = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        Node findLiteral(String path, int offset, int length) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && path.regionMatches(offset, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        AccessRule rule(AccessRule[] slots, int methodIndex) {
+            AccessRule rule = slots[methodIndex];
+            return rule != null ? rule : slots[ANY_METHOD];
+        }
+    }
+
+    /**
+     * Outcome of a route lookup: public, any authenticated user, or a role set.
+     */
+    public static final class AccessRule {
+
+        static final AccessRule PUBLIC = new AccessRule(true, new String[0]);
+        static final AccessRule AUTHENTICATED = new AccessRule(false, new String[0]);
+
+        private final boolean publicAccess;
+        private final String[] roles;
+
+        private AccessRule(boolean publicAccess, String[] roles) {
+            this.publicAccess = publicAccess;
+            this.roles = roles;
+        }
+
+        static AccessRule forRoles(List<String> roles) {
+            if (roles == null || roles.isEmpty()) {
+                return AUTHENTICATED;
+            }
+            return new AccessRule(false, roles.stream().map(String::trim).toArray(String[]::new));
+        }
+
+        public boolean isPublic() {
+            return publicAccess;
+        }
+
+        public boolean permits(String role) {
+            if (publicAccess) {
+                return true;
+            }
+            if (role == null) {
+                return false;
+            }
+            if (roles.length == 0) {
+                return true;
+            }
+            for (String allowed : roles) {
+                if (allowed.equals(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+-- Token bucket shared by all gateway instances.
+-- KEYS[1] = tokens key, KEYS[2] = last-refill timestamp key
+-- ARGV[1] = replenish rate (tokens/second), ARGV[2] = burst capacity, ARGV[3] = tokens requested
+-- Returns { allowed (1/0), tokens left, retry-after in milliseconds }
+
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- RateLimitProperties rejects these; guard anyway, since the TTL and retry-after divide by rate.
+if rate == nil or rate <= 0 or capacity == nil or capacity <= 0 then
+  return redis.error_reply('replenish rate and burst capacity must be positive')
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) + tonumber(time[2]) / 1000000
+
+local ttl = math.floor(capacity / rate * 2) + 1
+
+local last_tokens = tonumber(redis.call('GET', tokens_key))
+if last_tokens == nil then
+  last_tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call('GET', timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = now
+end
+
+local elapsed = math.max(0, now - last_refreshed)
+local filled = math.min(capacity, last_tokens + elapsed * rate)
+
+local allowed = 0
+local retry_after_ms = 0
+local new_tokens = filled
+if filled >= requested then
+  allowed = 1
+  new_tokens = filled - requested
+else
+  retry_after_ms = math.ceil((requested - filled) / rate * 1000)
+end
+
+redis.call('SETEX', tokens_key, ttl, tostring(new_tokens))
+redis.call('SETEX', timestamp_key, ttl, tostring(now))
+
+return { allowed, math.floor(new_tokens), retry_after_ms }
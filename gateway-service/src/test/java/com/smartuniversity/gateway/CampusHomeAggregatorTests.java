@@ -0,0 +1,55 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.home.CampusHomeAggregator;
+import com.smartuniversity.gateway.home.CampusHomeProperties;
+import com.smartuniversity.gateway.home.CampusHomeResponse;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CampusHomeAggregatorTests {
+
+    @Test
+    void slowSectionIsReportedUnavailableWhileOthersAreReturned() {
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            assertThat(request.headers().getFirst("X-Tenant-Id")).isEqualTo("engineering");
+            ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("[{\"id\":1}]")
+                    .build();
+            if (request.url().getPath().equals("/exam/exams")) {
+                return Mono.delay(Duration.ofSeconds(5)).thenReturn(response);
+            }
+            return Mono.just(response);
+        });
+
+        CampusHomeProperties properties = new CampusHomeProperties();
+        properties.getSections().put("exams", section("http://exam-service/exam/exams", Duration.ofMillis(100)));
+        properties.getSections().put("products", section("http://market-service/market/products", Duration.ofSeconds(1)));
+
+        CampusHomeResponse response = new CampusHomeAggregator(webClient, properties)
+                .load(new JwtUserDetails("user-1", "STUDENT", "engineering"))
+                .block(Duration.ofSeconds(2));
+
+        assertThat(response.sections()).containsOnlyKeys("products");
+        assertThat(response.sections().get("products").get(0).get("id").asInt()).isEqualTo(1);
+        assertThat(response.unavailable()).containsExactly("exams");
+    }
+
+    private static CampusHomeProperties.Section section(String uri, Duration timeout) {
+        CampusHomeProperties.Section section = new CampusHomeProperties.Section();
+        section.setUri(URI.create(uri));
+        section.setTimeout(timeout);
+        return section;
+    }
+}
@@ -1,8 +1,14 @@
 package com.smartuniversity.gateway;
 
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import com.smartuniversity.gateway.revocation.TokenRevocationList;
+import com.smartuniversity.gateway.revocation.TokenRevocationProperties;
 import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.RouteAuthorizationProperties;
+import com.smartuniversity.gateway.security.RouteAuthorizationTable;
 import com.smartuniversity.gateway.security.JwtService;
 import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -14,14 +20,21 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class JwtAuthenticationFilterTests {
 
+    private final TokenRevocationList revocationList =
+            new TokenRevocationList(new TokenRevocationProperties(), new SimpleMeterRegistry());
+
     @Test
     void missingAuthorizationHeaderShouldReturn401() {
         JwtService jwtService = Mockito.mock(JwtService.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, authorizationTable(), revocationList);
 
         MockServerHttpRequest request = MockServerHttpRequest.get("/booking/resources").build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
@@ -41,7 +54,7 @@ class JwtAuthenticationFilterTests {
         JwtUserDetails userDetails = new JwtUserDetails("user-1", "STUDENT", "engineering");
         Mockito.when(jwtService.parseToken("token")).thenReturn(userDetails);
 
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, authorizationTable(), revocationList);
 
         MockServerHttpRequest request = MockServerHttpRequest
                 .method(HttpMethod.POST, "/market/products")
@@ -64,7 +77,7 @@ class JwtAuthenticationFilterTests {
         JwtUserDetails userDetails = new JwtUserDetails("user-1", "TEACHER", "engineering");
         Mockito.when(jwtService.parseToken("token")).thenReturn(userDetails);
 
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, authorizationTable(), revocationList);
 
         MockServerHttpRequest request = MockServerHttpRequest
                 .method(HttpMethod.POST, "/market/products")
@@ -92,4 +105,70 @@ class JwtAuthenticationFilterTests {
         assertThat(headers.getFirst("X-User-Role")).isEqualTo("TEACHER");
         assertThat(headers.getFirst("X-Tenant-Id")).isEqualTo("engineering");
     }
+
+    @Test
+    void revokedTokenShouldReturn401() {
+        String userId = UUID.randomUUID().toString();
+        JwtService jwtService = Mockito.mock(JwtService.class);
+        Mockito.when(jwtService.parseToken("token"))
+                .thenReturn(new JwtUserDetails(userId, "TEACHER", "engineering", "token-1", 0));
+        revocationList.revoke(new TokenRevokedEvent("token-1", UUID.fromString(userId), "engineering",
+                null, Instant.now().plusSeconds(3600)));
+
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, authorizationTable(), revocationList);
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/booking/resources")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .build();
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        GatewayFilterChain chain = ex -> {
+            throw new AssertionError("Filter chain should not be invoked for a revoked token");
+        };
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void forgedIdentityHeadersAreStrippedOnPublicRoutes() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                Mockito.mock(JwtService.class), authorizationTable(), revocationList);
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .method(HttpMethod.POST, "/auth/users;x=1/import")
+                .header("X-User-Id", "user-1")
+                .header("X-User-Role", "ADMIN")
+                .header("X-Tenant-Id", "engineering")
+                .build();
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        ServerWebExchange[] captured = new ServerWebExchange[1];
+        GatewayFilterChain chain = ex -> {
+            captured[0] = ex;
+            return Mono.empty();
+        };
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(captured[0]).as("Public route should reach the downstream chain").isNotNull();
+        HttpHeaders headers = captured[0].getRequest().getHeaders();
+        assertThat(headers.containsKey("X-User-Id")).isFalse();
+        assertThat(headers.containsKey("X-User-Role")).isFalse();
+        assertThat(headers.containsKey("X-Tenant-Id")).isFalse();
+    }
+
+    private static RouteAuthorizationTable authorizationTable() {
+        RouteAuthorizationProperties.Rule productRule = new RouteAuthorizationProperties.Rule();
+        productRule.setPath("/market/products/**");
+        productRule.setMethods(List.of("POST"));
+        productRule.setRoles(List.of("TEACHER", "ADMIN"));
+
+        RouteAuthorizationProperties properties = new RouteAuthorizationProperties();
+        properties.setPublicPaths(List.of("/auth/**", "/actuator/**"));
+        properties.setRules(List.of(productRule));
+        return new RouteAuthorizationTable(properties);
+    }
 }
\ No newline at end of file
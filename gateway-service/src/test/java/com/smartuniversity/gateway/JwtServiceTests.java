@@ -0,0 +1,88 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.security.JwtService;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "c21hcnQtdW5pdmVyc2l0eS1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tMjU2Yml0cw==";
+
+    private final Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 100, meterRegistry);
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        String token = token(Instant.now().plusSeconds(300));
+
+        JwtUserDetails first = jwtService.parseToken(token);
+        JwtUserDetails second = jwtService.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getUserId()).isEqualTo("user-1");
+        assertThat(second.getRole()).isEqualTo("STUDENT");
+        assertThat(second.getTenantId()).isEqualTo("engineering");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JwtService.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void millisecondIssueTimeIsPreferredOverIat() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        String token = Jwts.builder()
+                .setSubject("user-1")
+                .claim("role", "STUDENT")
+                .claim("tenant", "engineering")
+                .setIssuedAt(Date.from(issuedAt))
+                .claim("iat_ms", issuedAt.toEpochMilli())
+                .setExpiration(Date.from(Instant.now().plusSeconds(300)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.parseToken(token).getIssuedAtMillis()).isEqualTo(issuedAt.toEpochMilli());
+        assertThat(jwtService.parseToken(token(Instant.now().plusSeconds(300))).getIssuedAtMillis() % 1000)
+                .isZero();
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterOriginalWasCached() {
+        String token = token(Instant.now().plusSeconds(300));
+        jwtService.parseToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.parseToken(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = token(Instant.now().minusSeconds(5));
+
+        assertThatThrownBy(() -> jwtService.parseToken(token)).isInstanceOf(JwtException.class);
+    }
+
+    private String token(Instant expiry) {
+        return Jwts.builder()
+                .setSubject("user-1")
+                .claim("role", "STUDENT")
+                .claim("tenant", "engineering")
+                .setIssuedAt(Date.from(Instant.now().minusSeconds(60)))
+                .setExpiration(Date.from(expiry))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
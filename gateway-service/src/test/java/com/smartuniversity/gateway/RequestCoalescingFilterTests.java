@@ -0,0 +1,95 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.coalescing.RequestCoalescingFilter;
+import com.smartuniversity.gateway.coalescing.RequestCoalescingProperties;
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTests {
+
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(), new SimpleMeterRegistry());
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+
+    private final GatewayFilterChain slowChain = ex -> release.asMono().then(Mono.defer(() -> {
+        int call = downstreamCalls.incrementAndGet();
+        ServerHttpResponse response = ex.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }));
+
+    @Test
+    void concurrentIdenticalGetsShareOneDownstreamCall() {
+        MockServerWebExchange leader = exchange("/exam/exams/42", "STUDENT");
+        MockServerWebExchange follower = exchange("/exam/exams/42", "STUDENT");
+
+        Mono<Void> leaderResult = filter.filter(leader, slowChain).cache();
+        leaderResult.subscribe();
+        Mono<Void> followerResult = filter.filter(follower, slowChain).cache();
+        followerResult.subscribe();
+
+        release.tryEmitEmpty();
+        leaderResult.block();
+        followerResult.block();
+
+        assertThat(downstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getHeaders().getFirst("X-Coalesced")).isEqualTo("true");
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":1}");
+    }
+
+    @Test
+    void differentRoleClassesAreNotCoalesced() {
+        MockServerWebExchange student = exchange("/exam/exams/42", "STUDENT");
+        MockServerWebExchange teacher = exchange("/exam/exams/42", "TEACHER");
+        MockServerWebExchange admin = exchange("/exam/exams/42", "ADMIN");
+
+        Mono<Void> studentResult = filter.filter(student, slowChain).cache();
+        studentResult.subscribe();
+        Mono<Void> teacherResult = filter.filter(teacher, slowChain).cache();
+        teacherResult.subscribe();
+        Mono<Void> adminResult = filter.filter(admin, slowChain).cache();
+        adminResult.subscribe();
+
+        release.tryEmitEmpty();
+        studentResult.block();
+        teacherResult.block();
+        adminResult.block();
+
+        assertThat(downstreamCalls).hasValue(2);
+        assertThat(admin.getResponse().getHeaders().getFirst("X-Coalesced")).isEqualTo("true");
+    }
+
+    private static MockServerWebExchange exchange(String path, String role) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        exchange.getAttributes().put(JwtAuthenticationFilter.USER_DETAILS_ATTR,
+                new JwtUserDetails("user-1", role, "engineering"));
+        return exchange;
+    }
+
+    private static RequestCoalescingProperties properties() {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setPaths(List.of("/exam/exams/*"));
+        properties.setRoleClasses(Map.of("TEACHER", "STAFF", "ADMIN", "STAFF"));
+        return properties;
+    }
+}
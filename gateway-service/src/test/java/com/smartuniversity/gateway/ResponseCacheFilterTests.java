@@ -0,0 +1,143 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.cache.ResponseCacheFilter;
+import com.smartuniversity.gateway.cache.ResponseCacheProperties;
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTests {
+
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(properties(), new SimpleMeterRegistry());
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain chain = ex -> {
+        int call = downstreamCalls.incrementAndGet();
+        ServerHttpResponse response = ex.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("[" + call + "]").getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void repeatedGetIsServedFromCache() {
+        MockServerWebExchange first = get("/market/products", "engineering");
+        MockServerWebExchange second = get("/market/products", "engineering");
+
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+
+        assertThat(downstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[1]");
+    }
+
+    @Test
+    void tenantsDoNotShareEntries() {
+        filter.filter(get("/market/products", "engineering"), chain).block();
+        MockServerWebExchange other = get("/market/products", "medicine");
+        filter.filter(other, chain).block();
+
+        assertThat(downstreamCalls).hasValue(2);
+        assertThat(other.getResponse().getBodyAsString().block()).isEqualTo("[2]");
+    }
+
+    @Test
+    void writeByTenantEvictsItsEntries() {
+        filter.filter(get("/market/products", "engineering"), chain).block();
+
+        MockServerWebExchange post = exchange(MockServerHttpRequest.post("/market/products").build(), "engineering");
+        filter.filter(post, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.CREATED);
+            return Mono.empty();
+        }).block();
+
+        filter.filter(get("/market/products", "engineering"), chain).block();
+        assertThat(downstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void failedWriteKeepsEntries() {
+        filter.filter(get("/market/products", "engineering"), chain).block();
+
+        MockServerWebExchange post = exchange(MockServerHttpRequest.post("/market/products").build(), "engineering");
+        filter.filter(post, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+            return Mono.empty();
+        }).block();
+
+        filter.filter(get("/market/products", "engineering"), chain).block();
+        assertThat(downstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void getDuringSlowWriteDoesNotOutliveTheWrite() {
+        AtomicInteger version = new AtomicInteger(1);
+        GatewayFilterChain reads = ex -> {
+            ServerHttpResponse response = ex.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            byte[] body = ("v" + version.get()).getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+        Sinks.Empty<Void> writeDone = Sinks.empty();
+
+        MockServerWebExchange post = exchange(MockServerHttpRequest.post("/market/products").build(), "engineering");
+        Mono<Void> write = filter.filter(post, ex -> writeDone.asMono().then(Mono.fromRunnable(() -> {
+            version.set(2);
+            ex.getResponse().setStatusCode(HttpStatus.CREATED);
+        }))).cache();
+        write.subscribe();
+
+        // Runs while the write is still in flight and sees the old data.
+        MockServerWebExchange during = get("/market/products", "engineering");
+        filter.filter(during, reads).block();
+        assertThat(during.getResponse().getBodyAsString().block()).isEqualTo("v1");
+
+        writeDone.tryEmitEmpty();
+        write.block();
+
+        MockServerWebExchange after = get("/market/products", "engineering");
+        filter.filter(after, reads).block();
+        assertThat(after.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(after.getResponse().getBodyAsString().block()).isEqualTo("v2");
+    }
+
+    private static MockServerWebExchange get(String path, String tenant) {
+        return exchange(MockServerHttpRequest.get(path).build(), tenant);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest request, String tenant) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(JwtAuthenticationFilter.USER_DETAILS_ATTR,
+                new JwtUserDetails("user-1", "STUDENT", tenant));
+        return exchange;
+    }
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties.Route route = new ResponseCacheProperties.Route();
+        route.setPath("/market/products");
+        route.setTtl(Duration.ofMinutes(1));
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.security.RouteAuthorizationProperties;
+import com.smartuniversity.gateway.security.RouteAuthorizationTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteAuthorizationTableTests {
+
+    private final RouteAuthorizationTable table = new RouteAuthorizationTable(properties(
+            rule("/exam/exams/**", List.of("POST"), List.of("TEACHER", "ADMIN")),
+            rule("/exam/exams/*/submit", List.of("POST"), List.of("STUDENT"))));
+
+    @Test
+    void publicPathsMatchForAnyMethod() {
+        assertThat(table.match(HttpMethod.POST, "/auth/login").isPublic()).isTrue();
+        assertThat(table.match(HttpMethod.GET, "/booking/actuator/health").isPublic()).isTrue();
+        assertThat(table.match(HttpMethod.GET, "/booking/actuator/env").isPublic()).isFalse();
+    }
+
+    @Test
+    void mostSpecificRuleWins() {
+        assertThat(table.match(HttpMethod.POST, "/exam/exams").permits("STUDENT")).isFalse();
+        assertThat(table.match(HttpMethod.POST, "/exam/exams/42/start").permits("STUDENT")).isFalse();
+        assertThat(table.match(HttpMethod.POST, "/exam/exams/42/start").permits("TEACHER")).isTrue();
+        assertThat(table.match(HttpMethod.POST, "/exam/exams/42/submit").permits("STUDENT")).isTrue();
+        assertThat(table.match(HttpMethod.POST, "/exam/exams/42/submit").permits("TEACHER")).isFalse();
+    }
+
+    @Test
+    void unmatchedMethodOrPathRequiresOnlyAuthentication() {
+        assertThat(table.match(HttpMethod.GET, "/exam/exams/42").permits("STUDENT")).isTrue();
+        assertThat(table.match(HttpMethod.GET, "/market/products").permits("STUDENT")).isTrue();
+        assertThat(table.match(HttpMethod.GET, "/market/products").permits(null)).isFalse();
+    }
+
+    @Test
+    void duplicateRulesAreRejectedAtStartup() {
+        assertThatThrownBy(() -> new RouteAuthorizationTable(properties(
+                rule("/market/products/**", List.of("POST"), List.of("TEACHER")),
+                rule("/market/products/**", List.of("POST"), List.of("ADMIN")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RouteAuthorizationProperties properties(RouteAuthorizationProperties.Rule... rules) {
+        RouteAuthorizationProperties properties = new RouteAuthorizationProperties();
+        properties.setPublicPaths(List.of("/auth/**", "/actuator/**", "/*/actuator/health"));
+        properties.setRules(List.of(rules));
+        return properties;
+    }
+
+    private static RouteAuthorizationProperties.Rule rule(String path, List<String> methods, List<String> roles) {
+        RouteAuthorizationProperties.Rule rule = new RouteAuthorizationProperties.Rule();
+        rule.setPath(path);
+        rule.setMethods(methods);
+        rule.setRoles(roles);
+        return rule;
+    }
+}
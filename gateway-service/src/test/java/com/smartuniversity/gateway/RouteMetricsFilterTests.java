@@ -0,0 +1,67 @@
+package com.smartuniversity.gateway;
+
+import com.smartuniversity.gateway.metrics.RouteMetricsFilter;
+import com.smartuniversity.gateway.security.JwtAuthenticationFilter;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMetricsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteMetricsFilter filter = new RouteMetricsFilter(meterRegistry);
+
+    @Test
+    void latencyIsRecordedPerRouteTenantAndStatusClass() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/market/orders/checkout").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("marketplace-service")
+                .uri(URI.create("http://localhost:8083"))
+                .predicate(ex -> true)
+                .build());
+
+        filter.filter(exchange, ex -> {
+            assertThat(meterRegistry.get(RouteMetricsFilter.ACTIVE_GAUGE_NAME).gauge().value()).isEqualTo(1.0);
+            ex.getAttributes().put(JwtAuthenticationFilter.USER_DETAILS_ATTR,
+                    new JwtUserDetails("user-1", "STUDENT", "engineering"));
+            ex.getResponse().setStatusCode(HttpStatus.CONFLICT);
+            return Mono.empty();
+        }).block();
+
+        assertThat(meterRegistry.get(RouteMetricsFilter.LATENCY_TIMER_NAME)
+                .tag("route", "marketplace-service")
+                .tag("tenant", "engineering")
+                .tag("method", "POST")
+                .tag("status", "4xx")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RouteMetricsFilter.ACTIVE_GAUGE_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void repeatedRequestsShareOneTimer() {
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/booking/resources").build());
+            filter.filter(exchange, ex -> {
+                ex.getResponse().setStatusCode(HttpStatus.OK);
+                return Mono.empty();
+            }).block();
+        }
+
+        assertThat(meterRegistry.get(RouteMetricsFilter.LATENCY_TIMER_NAME).timers()).hasSize(1);
+        assertThat(meterRegistry.get(RouteMetricsFilter.LATENCY_TIMER_NAME)
+                .tag("route", "unrouted")
+                .tag("tenant", "anonymous")
+                .tag("status", "2xx")
+                .timer().count()).isEqualTo(3);
+    }
+}
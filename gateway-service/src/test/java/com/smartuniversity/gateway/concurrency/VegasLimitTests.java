@@ -0,0 +1,69 @@
+package com.smartuniversity.gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VegasLimitTests {
+
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void rejectsOnceLimitIsInFlight() {
+        VegasLimit limit = new VegasLimit(2, 1, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysAtBaseline() {
+        VegasLimit limit = new VegasLimit(10, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            fillAndComplete(limit, BASELINE);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyClimbsAboveBaseline() {
+        VegasLimit limit = new VegasLimit(50, 1, 100);
+        fillAndComplete(limit, BASELINE);
+
+        for (int i = 0; i < 10; i++) {
+            fillAndComplete(limit, BASELINE * 5);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(50);
+    }
+
+    @Test
+    void droppedRequestsBackOffButRespectMinimum() {
+        VegasLimit limit = new VegasLimit(20, 5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.onSample(BASELINE, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    private static void fillAndComplete(VegasLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.onSample(rttNanos, false);
+        }
+    }
+}
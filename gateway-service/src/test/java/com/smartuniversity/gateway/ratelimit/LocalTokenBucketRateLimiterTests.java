@@ -0,0 +1,45 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketRateLimiterTests {
+
+    private final LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter();
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit(2, 3);
+
+    @Test
+    void burstIsLimitedToCapacity() {
+        long now = 0;
+        assertThat(limiter.acquire("t1:booking-service", limit, now).remainingTokens()).isEqualTo(2);
+        assertThat(limiter.acquire("t1:booking-service", limit, now).allowed()).isTrue();
+        assertThat(limiter.acquire("t1:booking-service", limit, now).allowed()).isTrue();
+
+        TenantRateLimiter.Decision denied = limiter.acquire("t1:booking-service", limit, now);
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterMillis()).isEqualTo(500);
+    }
+
+    @Test
+    void tokensRefillAtReplenishRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("t1:booking-service", limit, 0);
+        }
+        long later = TimeUnit.MILLISECONDS.toNanos(600);
+        assertThat(limiter.acquire("t1:booking-service", limit, later).allowed()).isTrue();
+        assertThat(limiter.acquire("t1:booking-service", limit, later).allowed()).isFalse();
+    }
+
+    @Test
+    void tenantsAndRoutesHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("t1:booking-service", limit, 0);
+        }
+        assertThat(limiter.acquire("t1:booking-service", limit, 0).allowed()).isFalse();
+        assertThat(limiter.acquire("t2:booking-service", limit, 0).allowed()).isTrue();
+        assertThat(limiter.acquire("t1:exam-service", limit, 0).allowed()).isTrue();
+    }
+}
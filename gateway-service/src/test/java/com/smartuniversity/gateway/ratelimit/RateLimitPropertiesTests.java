@@ -0,0 +1,44 @@
+package com.smartuniversity.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitPropertiesTests {
+
+    @Test
+    void routeLimitsAreBound() {
+        RateLimitProperties properties = bind(Map.of(
+                "gateway.rate-limit.routes.booking-service.replenish-rate", "5",
+                "gateway.rate-limit.routes.booking-service.burst-capacity", "10"));
+
+        assertThat(properties.limitFor("booking-service").getReplenishRate()).isEqualTo(5);
+        assertThat(properties.limitFor("market-service").getReplenishRate()).isEqualTo(50);
+    }
+
+    @Test
+    void zeroRateFailsBinding() {
+        assertThatThrownBy(() -> bind(Map.of("gateway.rate-limit.routes.booking-service.replenish-rate", "0")))
+                .isInstanceOf(BindException.class)
+                .hasRootCauseMessage("replenish-rate must be positive, was 0");
+    }
+
+    @Test
+    void negativeCapacityFailsBinding() {
+        assertThatThrownBy(() -> bind(Map.of("gateway.rate-limit.default-limit.burst-capacity", "-1")))
+                .isInstanceOf(BindException.class)
+                .hasRootCauseMessage("burst-capacity must be positive, was -1");
+    }
+
+    private static RateLimitProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("gateway.rate-limit", Bindable.of(RateLimitProperties.class));
+    }
+}
@@ -0,0 +1,87 @@
+package com.smartuniversity.gateway.revocation;
+
+import com.smartuniversity.common.events.TokenRevokedEvent;
+import com.smartuniversity.gateway.security.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTests {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final UUID userId = UUID.randomUUID();
+    private final TokenRevocationList revocationList =
+            new TokenRevocationList(new TokenRevocationProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void revokedTokenIsRejectedAndOthersAreNot() {
+        revocationList.revoke(tokenRevoked("token-1", NOW + 60_000), NOW);
+
+        assertThat(revocationList.isRevoked(token("token-1", NOW - 1_000))).isTrue();
+        assertThat(revocationList.isRevoked(token("token-2", NOW - 1_000))).isFalse();
+        assertThat(revocationList.isRevoked(token(null, NOW - 1_000))).isFalse();
+    }
+
+    @Test
+    void userCutoffRejectsOnlyTokensIssuedBeforeIt() {
+        revocationList.revoke(new TokenRevokedEvent(null, userId, "engineering",
+                Instant.ofEpochMilli(NOW), Instant.ofEpochMilli(NOW + 3_600_000)), NOW);
+
+        assertThat(revocationList.isRevoked(token("old", NOW - 10_000))).isTrue();
+        assertThat(revocationList.isRevoked(token("new", NOW + 1_000))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedRightAfterCutoffInTheSameSecondIsAccepted() {
+        long cutoff = NOW + 400;
+        revocationList.revoke(new TokenRevokedEvent(null, userId, "engineering",
+                Instant.ofEpochMilli(cutoff), Instant.ofEpochMilli(NOW + 3_600_000)), NOW);
+
+        assertThat(revocationList.isRevoked(token("before", cutoff - 1))).isTrue();
+        assertThat(revocationList.isRevoked(token("after", cutoff + 1))).isFalse();
+    }
+
+    @Test
+    void revocationsAreForgottenOnceTheirTokensExpire() {
+        revocationList.revoke(tokenRevoked("token-1", NOW + 1_000), NOW);
+        revocationList.revoke(tokenRevoked("token-2", NOW + 120_000), NOW);
+
+        // The next revocation after the purge interval sweeps expired entries.
+        revocationList.revoke(tokenRevoked("token-3", NOW + 180_000), NOW + 61_000);
+
+        assertThat(revocationList.revokedTokenCount()).isEqualTo(2);
+        assertThat(revocationList.isRevoked(token("token-1", NOW))).isFalse();
+        assertThat(revocationList.isRevoked(token("token-2", NOW))).isTrue();
+        assertThat(revocationList.isRevoked(token("token-3", NOW))).isTrue();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(50);
+    }
+
+    private TokenRevokedEvent tokenRevoked(String tokenId, long expiresAtMillis) {
+        return new TokenRevokedEvent(tokenId, userId, "engineering", null, Instant.ofEpochMilli(expiresAtMillis));
+    }
+
+    private JwtUserDetails token(String tokenId, long issuedAtMillis) {
+        return new JwtUserDetails(userId.toString(), "STUDENT", "engineering", tokenId, issuedAtMillis);
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartuniversity.market.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool that runs checkout sagas off the HTTP threads.
+ *
+ * The pool and its queue are bounded: once both are full, checkout answers 503
+ * instead of letting a slow payment service pile up work without limit.
+ */
+@Configuration
+public class CheckoutExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor checkoutExecutor(
+            @Value("${market.checkout.workers:8}") int workers,
+            @Value("${market.checkout.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("checkout-");
+        // Sagas cut short here are picked up by the stale-checkout recovery instead.
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.smartuniversity.market.config;
+
+import com.smartuniversity.market.domain.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code orders_status_check} constraint in line with {@link OrderStatus}.
+ *
+ * Hibernate adds a check constraint listing the enum values when it creates
+ * the table but never updates it, so an orders table created before
+ * {@code PAYMENT_AUTHORIZED} existed would reject checkouts. Only PostgreSQL is
+ * touched; the H2 used by tests always creates the table fresh.
+ */
+@Component
+public class OrderStatusCheckInitializer implements InitializingBean {
+
+    private static final String STATUS_CHECK_NAME = "orders_status_check";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusCheckInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public OrderStatusCheckInitializer(JdbcTemplate jdbcTemplate,
+                                       DataSource dataSource,
+                                       EntityManagerFactory entityManagerFactory) {
+        // The factory is only injected so that Hibernate has created the table first.
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+
+        List<String> existing = jdbcTemplate.queryForList(
+                "select pg_get_constraintdef(oid) from pg_constraint where conname = ?", String.class, STATUS_CHECK_NAME);
+        if (existing.isEmpty() || existing.get(0).contains(OrderStatus.PAYMENT_AUTHORIZED.name())) {
+            return;
+        }
+        String statuses = Arrays.stream(OrderStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("alter table orders drop constraint " + STATUS_CHECK_NAME);
+        jdbcTemplate.execute("alter table orders add constraint %s check (status in (%s))"
+                .formatted(STATUS_CHECK_NAME, statuses));
+        logger.info("Updated {} to allow statuses {}", STATUS_CHECK_NAME, statuses);
+    }
+}
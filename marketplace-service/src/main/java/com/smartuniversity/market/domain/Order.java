@@ -40,6 +40,17 @@ public class Order {
     @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalAmount;
 
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    /**
+     * Set together with CONFIRMED and cleared once {@code order.confirmed} has been
+     * published, so recovery can retry a publish that failed. Null on orders
+     * confirmed before the flag existed.
+     */
+    @Column(name = "confirmation_pending")
+    private Boolean confirmationPending;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -101,6 +112,22 @@ public class Order {
         this.totalAmount = totalAmount;
     }
 
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public Boolean getConfirmationPending() {
+        return confirmationPending;
+    }
+
+    public void setConfirmationPending(Boolean confirmationPending) {
+        this.confirmationPending = confirmationPending;
+    }
+
     public List<OrderItem> getItems() {
         return items;
     }
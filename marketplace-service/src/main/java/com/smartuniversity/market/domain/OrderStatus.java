@@ -5,6 +5,7 @@ package com.smartuniversity.market.domain;
  */
 public enum OrderStatus {
     PENDING,
+    PAYMENT_AUTHORIZED,
     CONFIRMED,
     CANCELED
 }
\ No newline at end of file
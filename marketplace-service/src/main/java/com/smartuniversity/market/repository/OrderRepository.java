@@ -3,9 +3,12 @@ package com.smartuniversity.market.repository;
 import com.smartuniversity.market.domain.Order;
 import com.smartuniversity.market.domain.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,4 +40,71 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     @Query("SELECT COUNT(o) FROM Order o WHERE o.tenantId = :tenantId AND o.buyerId = :buyerId")
     long countByTenantIdAndBuyerId(@Param("tenantId") String tenantId, @Param("buyerId") UUID buyerId);
+
+    /**
+     * Orders whose checkout saga has not finished and has not moved since {@code before}
+     */
+    List<Order> findAllByStatusInAndUpdatedAtBefore(Collection<OrderStatus> statuses, Instant before);
+
+    /**
+     * Confirmed orders whose {@code order.confirmed} event is still unpublished since {@code before}
+     */
+    List<Order> findAllByStatusAndConfirmationPendingTrueAndUpdatedAtBefore(OrderStatus status, Instant before);
+
+    /**
+     * Bumps {@code updatedAt} if the order is still {@code expected}, so a worker
+     * can claim it before an external call. Returns whether it did.
+     */
+    @Modifying
+    @Query("""
+            update Order o set o.updatedAt = :now
+            where o.id = :id and o.tenantId = :tenantId and o.status = :expected
+            """)
+    int touch(@Param("id") UUID id,
+              @Param("tenantId") String tenantId,
+              @Param("expected") OrderStatus expected,
+              @Param("now") Instant now);
+
+    /**
+     * Moves a PAYMENT_AUTHORIZED order to CONFIRMED with its event marked as
+     * pending. Returns whether it did.
+     */
+    @Modifying
+    @Query("""
+            update Order o
+            set o.status = :confirmed, o.confirmationPending = true, o.failureReason = null, o.updatedAt = :now
+            where o.id = :id and o.tenantId = :tenantId and o.status = :expected
+            """)
+    int confirm(@Param("id") UUID id,
+                @Param("tenantId") String tenantId,
+                @Param("expected") OrderStatus expected,
+                @Param("confirmed") OrderStatus confirmed,
+                @Param("now") Instant now);
+
+    /**
+     * Clears the pending flag once {@code order.confirmed} has been published.
+     */
+    @Modifying
+    @Query("""
+            update Order o set o.confirmationPending = false
+            where o.id = :id and o.tenantId = :tenantId and o.confirmationPending = true
+            """)
+    int markConfirmationPublished(@Param("id") UUID id, @Param("tenantId") String tenantId);
+
+    /**
+     * Moves an order from {@code expected} to {@code status}. Returns whether it
+     * did; an order that another saga step has already moved on is left alone.
+     */
+    @Modifying
+    @Query("""
+            update Order o
+            set o.status = :status, o.failureReason = :failureReason, o.updatedAt = :now
+            where o.id = :id and o.tenantId = :tenantId and o.status = :expected
+            """)
+    int transition(@Param("id") UUID id,
+                   @Param("tenantId") String tenantId,
+                   @Param("expected") OrderStatus expected,
+                   @Param("status") OrderStatus status,
+                   @Param("failureReason") String failureReason,
+                   @Param("now") Instant now);
 }
@@ -13,14 +13,27 @@ import com.smartuniversity.market.web.dto.OrderItemDto;
 import com.smartuniversity.market.web.dto.OrderItemRequest;
 import com.smartuniversity.market.web.dto.PaymentAuthorizationRequest;
 import com.smartuniversity.market.web.dto.PaymentResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,37 +41,66 @@ import java.util.stream.Collectors;
  * Orchestrates the multi-step Saga for Marketplace checkout.
  * 
  * IMPROVEMENTS:
- * 1. Using pessimistic locking (findByIdAndTenantIdForUpdate) to prevent race conditions
+ * 1. Stock is decremented with conditional updates in product-id order, so concurrent
+ *    carts can neither oversell nor deadlock on each other's rows
  * 2. Added order history endpoints (getUserOrders, getOrder)
  * 3. toDto now includes createdAt
  * 4. FIX: EARLY STOCK VALIDATION - Stock is now validated BEFORE payment authorization
  *    to prevent authorizing payments for out-of-stock items
+ * 5. checkout() only creates the pending order; payment, stock and the event run on
+ *    the checkoutExecutor pool and clients poll the order for the outcome
  * 
  * NOTE: checkout() intentionally does NOT have @Transactional because it calls
  * external services (payment). Each step has its own transaction boundary.
+ *
+ * The order row is the saga state: PENDING until payment is authorized,
+ * PAYMENT_AUTHORIZED until stock is taken, then CONFIRMED or CANCELED with a
+ * failure reason. Every move is a conditional update, so a step that runs twice
+ * (a slow worker and the stale-checkout recovery) only takes effect once.
  */
 @Service
 public class OrderSagaService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaService.class);
+
+    private static final String DECREMENT_STOCK_SQL = """
+            update products set stock = stock - ?, updated_at = ?
+            where id = ? and tenant_id = ? and stock >= ?
+            """;
+
+    private static final int MAX_FAILURE_REASON_LENGTH = 500;
+
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final PaymentClient paymentClient;
     private final RabbitTemplate rabbitTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor checkoutExecutor;
+    private final Duration staleAfter;
 
     public OrderSagaService(ProductRepository productRepository,
             OrderRepository orderRepository,
             PaymentClient paymentClient,
-            RabbitTemplate rabbitTemplate) {
+            RabbitTemplate rabbitTemplate,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("checkoutExecutor") TaskExecutor checkoutExecutor,
+            @Value("${market.checkout.stale-after:2m}") Duration staleAfter) {
         this.productRepository = productRepository;
         this.orderRepository = orderRepository;
         this.paymentClient = paymentClient;
         this.rabbitTemplate = rabbitTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkoutExecutor = checkoutExecutor;
+        this.staleAfter = staleAfter;
     }
 
     /**
-     * Saga orchestrator - intentionally NOT @Transactional as it calls external services.
-     * Each step (createPendingOrder, confirmOrderAndDecrementStock, markOrderCanceled)
-     * has its own transaction boundary.
+     * Step 1 of the Saga: validates the cart and stores the PENDING order, then
+     * hands the remaining steps to the checkout pool and returns the pending
+     * order. Poll {@link #getOrder} for the outcome.
      */
     public OrderDto checkout(String tenantId, UUID buyerId, CheckoutRequest request) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
@@ -67,49 +109,141 @@ public class OrderSagaService {
 
         // Step 1: create pending order and items (own transaction)
         Order order = createPendingOrder(tenantId, buyerId, request);
+        OrderDto pending = toDto(order);
 
-        // Step 2: request payment authorization (external call - no transaction)
-        PaymentAuthorizationRequest paymentRequest = new PaymentAuthorizationRequest();
-        paymentRequest.setOrderId(order.getId());
-        paymentRequest.setUserId(buyerId);
-        paymentRequest.setAmount(order.getTotalAmount());
-
-        PaymentResponse paymentResponse;
         try {
-            paymentResponse = paymentClient.authorize(tenantId, paymentRequest);
-        } catch (Exception ex) {
-            // Mark order as canceled due to payment failure
-            markOrderCanceled(tenantId, order.getId());
-            throw new ResponseStatusException(HttpStatus.PAYMENT_REQUIRED, "Payment authorization failed");
+            checkoutExecutor.execute(() -> runSaga(order));
+        } catch (TaskRejectedException ex) {
+            cancelOrder(order, OrderStatus.PENDING, "Checkout is busy. Please try again.");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Checkout is busy. Please try again shortly.");
         }
+        return pending;
+    }
+
+    /**
+     * Steps 2 to 4, on a checkout worker. Nothing is thrown back to the client
+     * any more: every outcome ends up in the order's status and failure reason.
+     */
+    void runSaga(Order order) {
+        String tenantId = order.getTenantId();
+        try {
+            // The task may have queued past stale-after; never charge an order recovery already canceled.
+            if (!claim(order, OrderStatus.PENDING)) {
+                logger.info("Skipping checkout of order {}; it is no longer pending", order.getId());
+                return;
+            }
+
+            // Step 2: request payment authorization (external call - no transaction)
+            PaymentAuthorizationRequest paymentRequest = new PaymentAuthorizationRequest();
+            paymentRequest.setOrderId(order.getId());
+            paymentRequest.setUserId(order.getBuyerId());
+            paymentRequest.setAmount(order.getTotalAmount());
+
+            PaymentResponse paymentResponse;
+            try {
+                paymentResponse = paymentClient.authorize(tenantId, paymentRequest);
+            } catch (Exception ex) {
+                cancelOrder(order, OrderStatus.PENDING, "Payment authorization failed");
+                return;
+            }
+
+            if (!"AUTHORIZED".equalsIgnoreCase(paymentResponse.getStatus())) {
+                cancelOrder(order, OrderStatus.PENDING, "Payment not authorized");
+                return;
+            }
+
+            if (!transition(order, OrderStatus.PENDING, OrderStatus.PAYMENT_AUTHORIZED, null)) {
+                // Recovery gave up on this order while payment was slow; undo the payment.
+                paymentClient.cancel(tenantId, order.getId().toString());
+                return;
+            }
 
-        if (!"AUTHORIZED".equalsIgnoreCase(paymentResponse.getStatus())) {
-            markOrderCanceled(tenantId, order.getId());
-            throw new ResponseStatusException(HttpStatus.PAYMENT_REQUIRED, "Payment not authorized");
+            completeAuthorizedOrder(order);
+        } catch (RuntimeException ex) {
+            logger.error("Checkout saga for order {} stopped; stale-checkout recovery will pick it up"
+                    + " once it has not moved for {}", order.getId(), staleAfter, ex);
         }
+    }
+
+    /**
+     * Steps 3 and 4 for an order whose payment is authorized: takes the items out
+     * of stock, cancelling the payment if that fails, and publishes the event.
+     */
+    private void completeAuthorizedOrder(Order order) {
+        String tenantId = order.getTenantId();
 
         // Step 3: decrement stock within transaction, compensate payment on failure
         try {
-            confirmOrderAndDecrementStock(tenantId, order.getId());
-        } catch (RuntimeException ex) {
+            if (!confirmOrderAndDecrementStock(tenantId, order.getId())) {
+                return;
+            }
+        } catch (ResponseStatusException ex) {
             paymentClient.cancel(tenantId, order.getId().toString());
-            markOrderCanceled(tenantId, order.getId());
-            throw ex;
+            cancelOrder(order, OrderStatus.PAYMENT_AUTHORIZED, ex.getReason());
+            return;
         }
 
-        Order confirmed = orderRepository.findByIdAndTenantId(order.getId(), tenantId)
-                .orElseThrow(() -> new IllegalStateException("Order disappeared during Saga"));
-
         // Step 4: publish order.confirmed event
+        publishConfirmation(order);
+    }
+
+    /**
+     * Publishes {@code order.confirmed} and clears the order's pending flag. If
+     * the publish fails the flag stays set and recovery retries it, so the event
+     * is delivered at least once.
+     */
+    private void publishConfirmation(Order order) {
         OrderConfirmedEvent event = new OrderConfirmedEvent(
-                confirmed.getId(),
-                confirmed.getBuyerId(),
-                tenantId,
-                confirmed.getTotalAmount(),
+                order.getId(),
+                order.getBuyerId(),
+                order.getTenantId(),
+                order.getTotalAmount(),
                 Instant.now());
         rabbitTemplate.convertAndSend("university.events", "market.order.confirmed", event);
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.markConfirmationPublished(order.getId(), order.getTenantId()));
+    }
+
+    /**
+     * Resumes checkouts whose worker went away, e.g. with a restarted instance.
+     * An order stuck in PENDING may or may not have been charged, so it is
+     * canceled and its payment voided; one stuck in PAYMENT_AUTHORIZED goes on
+     * to the stock step, and a CONFIRMED one whose event was never published
+     * gets it published.
+     */
+    @Scheduled(initialDelayString = "${market.checkout.recovery-initial-delay-ms:60000}",
+            fixedDelayString = "${market.checkout.recovery-interval-ms:60000}")
+    public void recoverStaleCheckouts() {
+        Instant before = Instant.now().minus(staleAfter);
+        List<Order> stale = orderRepository.findAllByStatusInAndUpdatedAtBefore(
+                List.of(OrderStatus.PENDING, OrderStatus.PAYMENT_AUTHORIZED), before);
+        for (Order order : stale) {
+            try {
+                if (order.getStatus() == OrderStatus.PENDING) {
+                    if (cancelOrder(order, OrderStatus.PENDING, "Checkout was interrupted. Please try again.")) {
+                        paymentClient.cancel(order.getTenantId(), order.getId().toString());
+                    }
+                } else {
+                    completeAuthorizedOrder(order);
+                }
+            } catch (RuntimeException ex) {
+                logger.warn("Could not recover checkout of order {}", order.getId(), ex);
+            }
+        }
+        if (!stale.isEmpty()) {
+            logger.info("Recovered {} stale checkouts", stale.size());
+        }
 
-        return toDto(confirmed);
+        List<Order> unpublished = orderRepository.findAllByStatusAndConfirmationPendingTrueAndUpdatedAtBefore(
+                OrderStatus.CONFIRMED, before);
+        for (Order order : unpublished) {
+            try {
+                publishConfirmation(order);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not publish confirmation of order {}", order.getId(), ex);
+            }
+        }
     }
 
     @Transactional
@@ -168,42 +302,105 @@ public class OrderSagaService {
         return orderRepository.save(order);
     }
 
-    @Transactional
-    protected void confirmOrderAndDecrementStock(String tenantId, UUID orderId) {
-        Order order = orderRepository.findByIdAndTenantId(orderId, tenantId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+    /**
+     * Confirms a PAYMENT_AUTHORIZED order and takes its items out of stock in one
+     * transaction. Returns false, changing nothing, if the order is no longer
+     * waiting for this step. Runs through {@link TransactionTemplate} because the
+     * saga calls it on {@code this}, where {@code @Transactional} would not apply.
+     */
+    protected boolean confirmOrderAndDecrementStock(String tenantId, UUID orderId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Order order = orderRepository.findByIdAndTenantId(orderId, tenantId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+
+            if (order.getStatus() != OrderStatus.PAYMENT_AUTHORIZED) {
+                return false;
+            }
+
+            Map<UUID, Integer> quantities = new TreeMap<>();
+            for (OrderItem item : order.getItems()) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+            decrementStock(tenantId, quantities);
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order is not pending");
+            // Conditional, so two workers on the same order cannot both take the stock.
+            if (orderRepository.confirm(orderId, tenantId, OrderStatus.PAYMENT_AUTHORIZED,
+                    OrderStatus.CONFIRMED, Instant.now()) == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+    }
+
+    /**
+     * Decrements every product by its quantity with one conditional update per
+     * product, sent as a single batch. The rows are locked in product-id order,
+     * so two carts sharing products cannot deadlock, and {@code stock >= qty}
+     * replaces the read-check-write under a row lock. Any product that could
+     * not be decremented fails the whole cart with 409, naming each short item;
+     * the caller's transaction then rolls back the decrements that did apply.
+     */
+    private void decrementStock(String tenantId, Map<UUID, Integer> quantities) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<UUID> productIds = new ArrayList<>(quantities.keySet());
+        List<Object[]> rows = new ArrayList<>(productIds.size());
+        for (UUID productId : productIds) {
+            int quantity = quantities.get(productId);
+            rows.add(new Object[]{quantity, now, productId, tenantId, quantity});
         }
 
-        // FIX: Use pessimistic locking to prevent race conditions
-        for (OrderItem item : order.getItems()) {
-            UUID productId = item.getProduct().getId();
-            
-            // Use findByIdAndTenantIdForUpdate for pessimistic locking
-            Product product = productRepository.findByIdAndTenantIdForUpdate(productId, tenantId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, rows);
 
-            if (product.getStock() < item.getQuantity()) {
-                throw new ResponseStatusException(HttpStatus.CONFLICT,
-                        "Insufficient stock for product " + product.getName());
+        List<UUID> shortIds = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                shortIds.add(productIds.get(i));
             }
+        }
+        if (shortIds.isEmpty()) {
+            return;
+        }
 
-            product.setStock(product.getStock() - item.getQuantity());
-            productRepository.save(product);
+        Map<UUID, Product> products = productRepository.findAllById(shortIds).stream()
+                .collect(Collectors.toMap(Product::getId, p -> p));
+        String details = shortIds.stream()
+                .map(id -> {
+                    Product product = products.get(id);
+                    if (product == null || !tenantId.equals(product.getTenantId())) {
+                        return "product " + id + " (not found)";
+                    }
+                    return product.getName() + " (available: " + product.getStock()
+                            + ", requested: " + quantities.get(id) + ")";
+                })
+                .collect(Collectors.joining(", "));
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for: " + details);
+    }
+
+    /**
+     * Cancels the order if it is still {@code expected}, recording why. Returns whether it did.
+     */
+    protected boolean cancelOrder(Order order, OrderStatus expected, String reason) {
+        if (reason != null && reason.length() > MAX_FAILURE_REASON_LENGTH) {
+            reason = reason.substring(0, MAX_FAILURE_REASON_LENGTH);
         }
+        return transition(order, expected, OrderStatus.CANCELED, reason);
+    }
 
-        order.setStatus(OrderStatus.CONFIRMED);
-        orderRepository.save(order);
+    /**
+     * Refreshes {@code updatedAt} if the order is still {@code expected}, so
+     * recovery does not treat it as stale while this worker is on it.
+     */
+    private boolean claim(Order order, OrderStatus expected) {
+        Integer updated = transactionTemplate.execute(tx -> orderRepository.touch(
+                order.getId(), order.getTenantId(), expected, Instant.now()));
+        return updated != null && updated > 0;
     }
 
-    @Transactional
-    protected void markOrderCanceled(String tenantId, UUID orderId) {
-        orderRepository.findByIdAndTenantId(orderId, tenantId).ifPresent(order -> {
-            order.setStatus(OrderStatus.CANCELED);
-            orderRepository.save(order);
-        });
+    private boolean transition(Order order, OrderStatus expected, OrderStatus status, String failureReason) {
+        Integer updated = transactionTemplate.execute(tx -> orderRepository.transition(
+                order.getId(), order.getTenantId(), expected, status, failureReason, Instant.now()));
+        return updated != null && updated > 0;
     }
 
     /**
@@ -246,12 +443,14 @@ public class OrderSagaService {
                 .collect(Collectors.toList());
 
         // FIX #3: Now passing createdAt to constructor
-        return new OrderDto(
+        OrderDto dto = new OrderDto(
                 order.getId(), 
                 order.getTotalAmount(), 
                 order.getStatus(), 
                 itemDtos,
                 order.getCreatedAt()  // FIX #3: Added createdAt
         );
+        dto.setFailureReason(order.getFailureReason());
+        return dto;
     }
 }
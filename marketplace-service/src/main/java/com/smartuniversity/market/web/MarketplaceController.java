@@ -18,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -86,7 +87,7 @@ public class MarketplaceController {
     }
 
     @PostMapping("/orders/checkout")
-    @Operation(summary = "Checkout order", description = "Orchestrates the Saga across payment and stock updates for the given items")
+    @Operation(summary = "Checkout order", description = "Creates a pending order and runs the Saga across payment and stock updates in the background; poll GET /orders/{id} for the outcome")
     public ResponseEntity<OrderDto> checkout(@Valid @RequestBody CheckoutRequest request,
             @RequestHeader("X-User-Id") String userIdHeader,
             @RequestHeader("X-Tenant-Id") String tenantId) {
@@ -97,7 +98,9 @@ public class MarketplaceController {
 
         UUID buyerId = UUID.fromString(userIdHeader);
         OrderDto order = orderSagaService.checkout(tenantId, buyerId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        return ResponseEntity.accepted()
+                .location(URI.create("/market/orders/" + order.getId()))
+                .body(order);
     }
 
     /**
@@ -19,6 +19,7 @@ public class OrderDto {
     private OrderStatus status;
     private List<OrderItemDto> items;
     private Instant createdAt;  // FIX #3: Added for order history
+    private String failureReason;
 
     public OrderDto() {
     }
@@ -79,4 +80,12 @@ public class OrderDto {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
 }
@@ -1,11 +1,13 @@
 package com.smartuniversity.market.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartuniversity.market.domain.Order;
 import com.smartuniversity.market.domain.OrderStatus;
 import com.smartuniversity.market.domain.Product;
 import com.smartuniversity.market.repository.OrderRepository;
 import com.smartuniversity.market.repository.ProductRepository;
+import com.smartuniversity.market.service.OrderSagaService;
 import com.smartuniversity.market.service.PaymentClient;
 import com.smartuniversity.market.web.dto.CheckoutRequest;
 import com.smartuniversity.market.web.dto.OrderItemRequest;
@@ -19,20 +21,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -59,6 +66,12 @@ class MarketplaceControllerIntegrationTest {
         @Autowired
         private OrderRepository orderRepository;
 
+        @Autowired
+        private OrderSagaService orderSagaService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
         @BeforeEach
         void setUp() {
                 orderRepository.deleteAll();
@@ -101,15 +114,7 @@ class MarketplaceControllerIntegrationTest {
                 String tenantId = "engineering";
                 String buyerId = UUID.randomUUID().toString();
 
-                // Insert product directly
-                Product product = new Product();
-                product.setTenantId(tenantId);
-                product.setSellerId(UUID.randomUUID());
-                product.setName("Notebook");
-                product.setDescription("A5");
-                product.setPrice(BigDecimal.valueOf(5.0));
-                product.setStock(100);
-                product = productRepository.save(product);
+                Product product = product(tenantId, "Notebook", 100);
 
                 CheckoutRequest checkoutRequest = new CheckoutRequest();
                 OrderItemRequest item = new OrderItemRequest();
@@ -125,32 +130,64 @@ class MarketplaceControllerIntegrationTest {
                 Mockito.when(paymentClient.authorize(eq(tenantId), any()))
                                 .thenReturn(paymentResponse);
 
-                mockMvc.perform(post("/market/orders/checkout")
-                                .header("X-Tenant-Id", tenantId)
-                                .header("X-User-Id", buyerId)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(checkoutRequest)))
-                                .andExpect(status().isCreated())
-                                .andExpect(jsonPath("$.id", notNullValue()))
-                                .andExpect(jsonPath("$.items[0].productId", notNullValue()));
+                // The order is accepted as PENDING; the Saga finishes in the background
+                String orderId = checkout(tenantId, buyerId, checkoutRequest);
+
+                JsonNode order = awaitStatus(tenantId, buyerId, orderId, OrderStatus.CONFIRMED);
+                assertThat(order.get("items").get(0).get("productId").asText()).isEqualTo(product.getId().toString());
+                assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isEqualTo(98);
 
+                Mockito.verify(rabbitTemplate, Mockito.timeout(2000))
+                                .convertAndSend(eq("university.events"), eq("market.order.confirmed"), any(Object.class));
                 // Ensure we did not trigger compensation
                 Mockito.verify(paymentClient, Mockito.never()).cancel(eq(tenantId), any());
         }
 
+        @Test
+        void recoveryShouldRepublishConfirmationThatFailedToSend() throws Exception {
+                String tenantId = "engineering";
+                String buyerId = UUID.randomUUID().toString();
+
+                Product product = product(tenantId, "Notebook", 100);
+
+                CheckoutRequest checkoutRequest = new CheckoutRequest();
+                OrderItemRequest item = new OrderItemRequest();
+                item.setProductId(product.getId());
+                item.setQuantity(1);
+                checkoutRequest.setItems(List.of(item));
+
+                PaymentResponse paymentResponse = new PaymentResponse();
+                paymentResponse.setPaymentId(UUID.randomUUID());
+                paymentResponse.setStatus("AUTHORIZED");
+                Mockito.when(paymentClient.authorize(eq(tenantId), any())).thenReturn(paymentResponse);
+
+                // The broker is down when the saga gets to step 4
+                Mockito.doThrow(new RuntimeException("Broker unavailable")).doNothing().when(rabbitTemplate)
+                                .convertAndSend(eq("university.events"), eq("market.order.confirmed"), any(Object.class));
+
+                String orderId = checkout(tenantId, buyerId, checkoutRequest);
+                awaitStatus(tenantId, buyerId, orderId, OrderStatus.CONFIRMED);
+                Mockito.verify(rabbitTemplate, Mockito.timeout(2000))
+                                .convertAndSend(eq("university.events"), eq("market.order.confirmed"), any(Object.class));
+                assertThat(orderRepository.findById(UUID.fromString(orderId)).orElseThrow().getConfirmationPending())
+                                .isTrue();
+
+                jdbcTemplate.update("update orders set updated_at = ? where id = ?",
+                                Timestamp.from(Instant.now().minusSeconds(3600)), UUID.fromString(orderId));
+                orderSagaService.recoverStaleCheckouts();
+
+                Mockito.verify(rabbitTemplate, Mockito.times(2))
+                                .convertAndSend(eq("university.events"), eq("market.order.confirmed"), any(Object.class));
+                assertThat(orderRepository.findById(UUID.fromString(orderId)).orElseThrow().getConfirmationPending())
+                                .isFalse();
+        }
+
         @Test
         void checkoutShouldCancelOrderWhenPaymentFails() throws Exception {
                 String tenantId = "engineering";
                 String buyerId = UUID.randomUUID().toString();
 
-                Product product = new Product();
-                product.setTenantId(tenantId);
-                product.setSellerId(UUID.randomUUID());
-                product.setName("Notebook");
-                product.setDescription("A5");
-                product.setPrice(BigDecimal.valueOf(5.0));
-                product.setStock(100);
-                product = productRepository.save(product);
+                Product product = product(tenantId, "Notebook", 100);
 
                 CheckoutRequest checkoutRequest = new CheckoutRequest();
                 OrderItemRequest item = new OrderItemRequest();
@@ -158,38 +195,29 @@ class MarketplaceControllerIntegrationTest {
                 item.setQuantity(1);
                 checkoutRequest.setItems(List.of(item));
 
-                // Simulate payment authorization failure via HTTP 402
+                // Simulate payment authorization failure
                 Mockito.when(paymentClient.authorize(eq(tenantId), any()))
                                 .thenThrow(new RuntimeException("Payment gateway down"));
 
-                mockMvc.perform(post("/market/orders/checkout")
-                                .header("X-Tenant-Id", tenantId)
-                                .header("X-User-Id", buyerId)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(checkoutRequest)))
-                                .andExpect(status().isPaymentRequired());
+                String orderId = checkout(tenantId, buyerId, checkoutRequest);
 
                 // Orders that fail payment are marked as CANCELED by the Saga
+                JsonNode order = awaitStatus(tenantId, buyerId, orderId, OrderStatus.CANCELED);
+                assertThat(order.get("failureReason").asText()).isEqualTo("Payment authorization failed");
+
                 List<Order> orders = orderRepository.findAll();
                 assertThat(orders).hasSize(1);
                 assertThat(orders.get(0).getStatus()).isEqualTo(OrderStatus.CANCELED);
+                assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isEqualTo(100);
 
                 Mockito.verify(paymentClient, Mockito.never()).cancel(eq(tenantId), any());
         }
 
         @Test
-        void checkoutShouldCompensatePaymentWhenStockInsufficient() throws Exception {
+        void checkoutShouldRejectCartThatIsAlreadyOutOfStock() throws Exception {
                 String tenantId = "engineering";
-                String buyerId = UUID.randomUUID().toString();
 
-                Product product = new Product();
-                product.setTenantId(tenantId);
-                product.setSellerId(UUID.randomUUID());
-                product.setName("Limited Edition Notebook");
-                product.setDescription("Only one left");
-                product.setPrice(BigDecimal.valueOf(5.0));
-                product.setStock(1);
-                product = productRepository.save(product);
+                Product product = product(tenantId, "Limited Edition Notebook", 1);
 
                 CheckoutRequest checkoutRequest = new CheckoutRequest();
                 OrderItemRequest item = new OrderItemRequest();
@@ -197,26 +225,145 @@ class MarketplaceControllerIntegrationTest {
                 item.setQuantity(2); // request more than available stock
                 checkoutRequest.setItems(List.of(item));
 
-                // Payment authorization succeeds
-                PaymentResponse paymentResponse = new PaymentResponse();
-                paymentResponse.setPaymentId(UUID.randomUUID());
-                paymentResponse.setOrderId(UUID.randomUUID());
-                paymentResponse.setStatus("AUTHORIZED");
-                Mockito.when(paymentClient.authorize(eq(tenantId), any()))
-                                .thenReturn(paymentResponse);
-
+                // Caught before any order exists or payment is requested
                 mockMvc.perform(post("/market/orders/checkout")
                                 .header("X-Tenant-Id", tenantId)
-                                .header("X-User-Id", buyerId)
+                                .header("X-User-Id", UUID.randomUUID().toString())
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(checkoutRequest)))
                                 .andExpect(status().isConflict());
 
+                assertThat(orderRepository.findAll()).isEmpty();
+                Mockito.verify(paymentClient, Mockito.never()).authorize(any(), any());
+        }
+
+        @Test
+        void checkoutShouldCompensatePaymentWhenStockInsufficient() throws Exception {
+                String tenantId = "engineering";
+                String buyerId = UUID.randomUUID().toString();
+
+                Product product = product(tenantId, "Limited Edition Notebook", 2);
+
+                CheckoutRequest checkoutRequest = new CheckoutRequest();
+                OrderItemRequest item = new OrderItemRequest();
+                item.setProductId(product.getId());
+                item.setQuantity(2);
+                checkoutRequest.setItems(List.of(item));
+
+                // Payment authorization succeeds, but another buyer takes one while it runs
+                PaymentResponse paymentResponse = new PaymentResponse();
+                paymentResponse.setPaymentId(UUID.randomUUID());
+                paymentResponse.setStatus("AUTHORIZED");
+                Mockito.when(paymentClient.authorize(eq(tenantId), any())).thenAnswer(invocation -> {
+                        setStock(product.getId(), 1);
+                        return paymentResponse;
+                });
+
+                String orderId = checkout(tenantId, buyerId, checkoutRequest);
+
                 // Saga should have canceled the order and invoked payment cancellation
+                JsonNode order = awaitStatus(tenantId, buyerId, orderId, OrderStatus.CANCELED);
+                assertThat(order.get("failureReason").asText()).contains("available: 1, requested: 2");
+
                 List<Order> orders = orderRepository.findAll();
                 assertThat(orders).hasSize(1);
                 assertThat(orders.get(0).getStatus()).isEqualTo(OrderStatus.CANCELED);
 
                 Mockito.verify(paymentClient).cancel(eq(tenantId), any());
         }
-}
\ No newline at end of file
+
+        @Test
+        void checkoutShouldRollBackWholeCartWhenOneItemRunsShort() throws Exception {
+                String tenantId = "engineering";
+                String buyerId = UUID.randomUUID().toString();
+
+                Product notebook = product(tenantId, "Notebook", 5);
+                Product lamp = product(tenantId, "Desk Lamp", 5);
+
+                CheckoutRequest checkoutRequest = new CheckoutRequest();
+                OrderItemRequest notebookItem = new OrderItemRequest();
+                notebookItem.setProductId(notebook.getId());
+                notebookItem.setQuantity(2);
+                OrderItemRequest lampItem = new OrderItemRequest();
+                lampItem.setProductId(lamp.getId());
+                lampItem.setQuantity(3);
+                checkoutRequest.setItems(List.of(notebookItem, lampItem));
+
+                // Another buyer takes most of the lamps while payment is being authorized
+                PaymentResponse paymentResponse = new PaymentResponse();
+                paymentResponse.setPaymentId(UUID.randomUUID());
+                paymentResponse.setStatus("AUTHORIZED");
+                Mockito.when(paymentClient.authorize(eq(tenantId), any())).thenAnswer(invocation -> {
+                        setStock(lamp.getId(), 1);
+                        return paymentResponse;
+                });
+
+                String orderId = checkout(tenantId, buyerId, checkoutRequest);
+
+                JsonNode order = awaitStatus(tenantId, buyerId, orderId, OrderStatus.CANCELED);
+                assertThat(order.get("failureReason").asText()).contains("Desk Lamp (available: 1, requested: 3)");
+
+                // The notebook decrement was rolled back with the rest of the cart
+                assertThat(productRepository.findById(notebook.getId()).orElseThrow().getStock()).isEqualTo(5);
+                assertThat(productRepository.findById(lamp.getId()).orElseThrow().getStock()).isEqualTo(1);
+                Mockito.verify(paymentClient).cancel(eq(tenantId), any());
+        }
+
+        private Product product(String tenantId, String name, int stock) {
+                Product product = new Product();
+                product.setTenantId(tenantId);
+                product.setSellerId(UUID.randomUUID());
+                product.setName(name);
+                product.setDescription(name);
+                product.setPrice(BigDecimal.valueOf(5.0));
+                product.setStock(stock);
+                return productRepository.save(product);
+        }
+
+        private void setStock(UUID productId, int stock) {
+                Product product = productRepository.findById(productId).orElseThrow();
+                product.setStock(stock);
+                productRepository.save(product);
+        }
+
+        /**
+         * Submits the checkout, expects it to be accepted as PENDING and returns the order id.
+         */
+        private String checkout(String tenantId, String buyerId, CheckoutRequest request) throws Exception {
+                String body = mockMvc.perform(post("/market/orders/checkout")
+                                .header("X-Tenant-Id", tenantId)
+                                .header("X-User-Id", buyerId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string("Location", startsWith("/market/orders/")))
+                                .andExpect(jsonPath("$.id", notNullValue()))
+                                .andExpect(jsonPath("$.status").value("PENDING"))
+                                .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(body).get("id").asText();
+        }
+
+        /**
+         * Polls the order the way a client would until it reaches {@code expected}.
+         */
+        private JsonNode awaitStatus(String tenantId, String buyerId, String orderId, OrderStatus expected)
+                        throws Exception {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (true) {
+                        String body = mockMvc.perform(get("/market/orders/" + orderId)
+                                        .header("X-Tenant-Id", tenantId)
+                                        .header("X-User-Id", buyerId))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getContentAsString();
+                        JsonNode order = objectMapper.readTree(body);
+                        String status = order.get("status").asText();
+                        if (expected.name().equals(status)) {
+                                return order;
+                        }
+                        if (System.currentTimeMillis() > deadline) {
+                                throw new AssertionError("Order " + orderId + " is still " + status + ", expected " + expected);
+                        }
+                        Thread.sleep(20);
+                }
+        }
+}